@@ -0,0 +1,36 @@
+package com.example.taskmanagement.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JMH entry point that writes machine-readable results by default, so runs of different builds
+ * can be compared. Explicit -rf/-rff options still take precedence.
+ */
+public class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Path result = Path.of(commandLine.getResult().orElse(DEFAULT_RESULT_FILE)).toAbsolutePath();
+        Files.createDirectories(result.getParent());
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommentService request paths against in-memory repositories. Long comments go through the
+ * compressed body path, short ones stay in the comment row. The store is reseeded every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentServiceBenchmark {
+
+    private static final int USERS = 20;
+    private static final int TASKS_PER_AUTHOR = 10;
+    private static final int COMMENTS_PER_TASK = 50;
+    private static final String SHORT_TEXT = "Looks good to me, but the report still needs the numbers for the last quarter.";
+    private static final String LONG_TEXT = SHORT_TEXT.repeat(64);
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private final BindingResult noErrors = new MapBindingResult(new HashMap<>(), "comment");
+
+    private ServiceFixture fixture;
+    private UserDetails commenter;
+    private Comment longComment;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        fixture = new ServiceFixture(USERS, TASKS_PER_AUTHOR);
+        User user = fixture.assignees.get(0);
+        commenter = ServiceFixture.userDetails(user);
+        for (Task task : fixture.tasks) {
+            for (int i = 0; i < COMMENTS_PER_TASK; i++) {
+                fixture.commentService.createComment(comment(task, SHORT_TEXT), noErrors, commenter);
+            }
+        }
+        longComment = (Comment) fixture.commentService.createComment(comment(fixture.tasks.get(0), LONG_TEXT),
+                noErrors, commenter).getBody();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createComment() {
+        return fixture.commentService.createComment(comment(nextTask(), SHORT_TEXT), noErrors, commenter);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createLongComment() {
+        return fixture.commentService.createComment(comment(nextTask(), LONG_TEXT), noErrors, commenter);
+    }
+
+    @Benchmark
+    public Optional<Slice<CommentSummary>> getCommentsByTask() {
+        return fixture.commentService.getCommentsByTask(nextTask().getId(), firstPage, false);
+    }
+
+    @Benchmark
+    public Optional<String> getCommentsPageTag() {
+        return fixture.commentService.getCommentsPageTag(nextTask().getId(), firstPage, true);
+    }
+
+    @Benchmark
+    public byte[] writeLongCommentText() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(LONG_TEXT.length());
+        fixture.commentService.writeCommentText(longComment, out);
+        return out.toByteArray();
+    }
+
+    private Task nextTask() {
+        return fixture.tasks.get(Math.floorMod(next++, fixture.tasks.size()));
+    }
+
+    private static Comment comment(Task task, String text) {
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setText(text);
+        return comment;
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.dto.EntityVersion;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentBodyRepository;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskCounterRepository;
+import com.example.taskmanagement.repository.TaskOutboxRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for the repositories the services use, so a benchmark measures the service
+ * code rather than the database. The Spring Data interfaces are implemented with dynamic proxies
+ * covering only the methods the services call; anything else fails loudly. Entities are handed out
+ * as stored, the way a persistence context returns its managed instances.
+ */
+class InMemoryRepositories {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> tasksByAuthor = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> tasksByAssignee = new ConcurrentHashMap<>();
+    private final Map<Long, Comment> comments = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> commentsByTask = new ConcurrentHashMap<>();
+    private final Map<Long, byte[]> commentBodies = new ConcurrentHashMap<>();
+
+    private final UserRepository userRepository = proxy(UserRepository.class, userMethods());
+    private final TaskRepository taskRepository = proxy(TaskRepository.class, taskMethods());
+    private final CommentRepository commentRepository = proxy(CommentRepository.class, commentMethods());
+
+    UserRepository userRepository() {
+        return userRepository;
+    }
+
+    TaskRepository taskRepository() {
+        return taskRepository;
+    }
+
+    CommentRepository commentRepository() {
+        return commentRepository;
+    }
+
+    TaskCounterRepository taskCounterRepository() {
+        return new TaskCounterRepository() {
+            @Override
+            public void adjust(List<Counter> deltas) {
+            }
+        };
+    }
+
+    TaskOutboxRepository taskOutboxRepository() {
+        return new TaskOutboxRepository() {
+            @Override
+            public void append(List<OutboxEvent> events) {
+            }
+        };
+    }
+
+    CommentBodyRepository commentBodyRepository() {
+        return new CommentBodyRepository() {
+            @Override
+            public void save(Long commentId, byte[] body) {
+                commentBodies.put(commentId, body);
+            }
+
+            @Override
+            public void delete(Long commentId) {
+                commentBodies.remove(commentId);
+            }
+
+            @Override
+            public boolean read(Long commentId, BodyReader reader) {
+                byte[] body = commentBodies.get(commentId);
+                if (body == null) {
+                    return false;
+                }
+                try {
+                    reader.read(new ByteArrayInputStream(body));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }
+        };
+    }
+
+    private Map<String, Function<Object[], Object>> userMethods() {
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("save", args -> saveUser((User) args[0]));
+        methods.put("findById", args -> Optional.ofNullable(users.get((Long) args[0])));
+        methods.put("findByEmail", args -> Optional.ofNullable(usersByEmail.get((String) args[0])));
+        methods.put("existsById", args -> users.containsKey((Long) args[0]));
+        return methods;
+    }
+
+    private Map<String, Function<Object[], Object>> taskMethods() {
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("save", args -> saveTask((Task) args[0]));
+        methods.put("saveAll", args -> {
+            List<Task> saved = new ArrayList<>();
+            ((Iterable<?>) args[0]).forEach(task -> saved.add(saveTask((Task) task)));
+            return saved;
+        });
+        methods.put("findById", args -> Optional.ofNullable(tasks.get((Long) args[0])));
+        methods.put("existsById", args -> tasks.containsKey((Long) args[0]));
+        methods.put("findVersionById", args -> Optional.ofNullable(tasks.get((Long) args[0])).map(Task::getVersion));
+        methods.put("findAllWithUsersByIdIn", args -> tasksIn((Iterable<?>) args[0]));
+        methods.put("findSummarySliceByAuthorId", args ->
+                slice(tasksByAuthor.get((Long) args[0]), (Pageable) args[1], id -> TaskSummary.from(tasks.get(id))));
+        methods.put("findSummarySliceByAssigneeId", args ->
+                slice(tasksByAssignee.get((Long) args[0]), (Pageable) args[1], id -> TaskSummary.from(tasks.get(id))));
+        methods.put("countByAuthorId", args -> (long) size(tasksByAuthor.get((Long) args[0])));
+        methods.put("countByAssigneeId", args -> (long) size(tasksByAssignee.get((Long) args[0])));
+        methods.put("updateStatus", args -> updateStatus((Task) args[0], (Long) args[1], (Status) args[2]));
+        methods.put("updateAssignee", args -> updateAssignee((Task) args[0], (Long) args[1], (User) args[2]));
+        methods.put("commentAdded", args -> {
+            Task task = tasks.get((Long) args[0]);
+            synchronized (task) {
+                task.setCommentCount(task.getCommentCount() + 1);
+                task.setLastActivityAt((Instant) args[1]);
+            }
+            return null;
+        });
+        methods.put("commentRemoved", args -> {
+            Task task = tasks.get((Long) args[0]);
+            synchronized (task) {
+                task.setCommentCount(Math.max(0, task.getCommentCount() - 1));
+            }
+            return null;
+        });
+        methods.put("evictCached", args -> null);
+        return methods;
+    }
+
+    private Map<String, Function<Object[], Object>> commentMethods() {
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("save", args -> saveComment((Comment) args[0]));
+        methods.put("saveAndFlush", args -> saveComment((Comment) args[0]));
+        methods.put("findById", args -> Optional.ofNullable(comments.get((Long) args[0])));
+        methods.put("findVersionById", args -> Optional.ofNullable(comments.get((Long) args[0])).map(Comment::getVersion));
+        methods.put("deleteById", args -> {
+            Comment comment = comments.remove((Long) args[0]);
+            if (comment != null) {
+                commentsByTask.get(comment.getTask().getId()).remove(comment.getId());
+            }
+            return null;
+        });
+        methods.put("findSummarySliceByTaskId", args -> slice(commentsByTask.get((Long) args[0]), (Pageable) args[1], id -> {
+            Comment comment = comments.get(id);
+            return new CommentSummary(comment.getId(), comment.getText(), comment.getTextLength(),
+                    comment.getAuthor().getEmail(), comment.getCreatedAt(), comment.getVersion());
+        }));
+        methods.put("findVersionSliceByTaskId", args -> slice(commentsByTask.get((Long) args[0]), (Pageable) args[1],
+                id -> new EntityVersion(id, comments.get(id).getVersion())));
+        methods.put("countByTaskId", args -> (long) size(commentsByTask.get((Long) args[0])));
+        return methods;
+    }
+
+    private User saveUser(User user) {
+        if (user.getId() == null) {
+            user.setId(ids.incrementAndGet());
+        }
+        users.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+        return user;
+    }
+
+    private Task saveTask(Task task) {
+        if (task.getId() == null) {
+            task.setId(ids.incrementAndGet());
+            task.setVersion(0L);
+        } else {
+            Task existing = tasks.get(task.getId());
+            if (existing != null) {
+                unindex(tasksByAuthor, existing.getAuthor(), existing.getId());
+                unindex(tasksByAssignee, existing.getAssignee(), existing.getId());
+            }
+            task.setVersion(task.getVersion() == null ? 0L : task.getVersion() + 1);
+        }
+        tasks.put(task.getId(), task);
+        index(tasksByAuthor, task.getAuthor(), task.getId());
+        index(tasksByAssignee, task.getAssignee(), task.getId());
+        return task;
+    }
+
+    private Comment saveComment(Comment comment) {
+        if (comment.getId() == null) {
+            comment.setId(ids.incrementAndGet());
+            comment.setVersion(0L);
+            comment.setCreatedAt(Instant.now());
+            commentsByTask.computeIfAbsent(comment.getTask().getId(), id -> new ConcurrentSkipListSet<>())
+                    .add(comment.getId());
+        } else {
+            comment.setVersion(comment.getVersion() + 1);
+        }
+        comments.put(comment.getId(), comment);
+        return comment;
+    }
+
+    // Same guards as the conditional updates in TaskUpdatesImpl; the service bumps the version itself
+    private boolean updateStatus(Task task, Long assigneeId, Status status) {
+        Task stored = tasks.get(task.getId());
+        synchronized (stored) {
+            if (!Objects.equals(stored.getVersion(), task.getVersion()) || stored.getAssignee() == null
+                    || !stored.getAssignee().getId().equals(assigneeId)) {
+                return false;
+            }
+            stored.setLastActivityAt(Instant.now());
+            return true;
+        }
+    }
+
+    private boolean updateAssignee(Task task, Long authorId, User assignee) {
+        Task stored = tasks.get(task.getId());
+        synchronized (stored) {
+            if (!Objects.equals(stored.getVersion(), task.getVersion()) || !stored.getAuthor().getId().equals(authorId)) {
+                return false;
+            }
+            unindex(tasksByAssignee, stored.getAssignee(), stored.getId());
+            index(tasksByAssignee, assignee, stored.getId());
+            stored.setLastActivityAt(Instant.now());
+            return true;
+        }
+    }
+
+    private List<Task> tasksIn(Iterable<?> taskIds) {
+        List<Task> found = new ArrayList<>();
+        for (Object id : taskIds) {
+            Task task = tasks.get((Long) id);
+            if (task != null) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    private static void index(Map<Long, NavigableSet<Long>> index, User user, Long taskId) {
+        if (user != null) {
+            index.computeIfAbsent(user.getId(), id -> new ConcurrentSkipListSet<>()).add(taskId);
+        }
+    }
+
+    private static void unindex(Map<Long, NavigableSet<Long>> index, User user, Long taskId) {
+        if (user != null && index.containsKey(user.getId())) {
+            index.get(user.getId()).remove(taskId);
+        }
+    }
+
+    private static int size(NavigableSet<Long> ids) {
+        return ids == null ? 0 : ids.size();
+    }
+
+    // Rows in id order, reading one extra to fill hasNext like the Slice queries do
+    private static <T> Slice<T> slice(NavigableSet<Long> ids, Pageable pageable, Function<Long, T> mapper) {
+        List<T> content = new ArrayList<>(pageable.getPageSize() + 1);
+        if (ids != null) {
+            ids.stream()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize() + 1L)
+                    .forEach(id -> content.add(mapper.apply(id)));
+        }
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(content.size() - 1);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R proxy(Class<R> type, Map<String, Function<Object[], Object>> methods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, method, args);
+            }
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return implementation.apply(args);
+        };
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "InMemory" + proxy.getClass().getInterfaces()[0].getSimpleName();
+        };
+    }
+}
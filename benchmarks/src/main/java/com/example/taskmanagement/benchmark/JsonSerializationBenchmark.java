@@ -0,0 +1,91 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization with the ObjectMapper Spring Boot builds by default, for a single
+ * task, a default-sized page of tasks and a comment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private Page<Task> taskPage;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        User author = new User(1L, "author@example.com", "$2a$10$7EqJtq98hPqEX7fNZaFWoOa1Q7sFQbqJ4Vx0YqK7hP0o2v2f4c3xW", Role.AUTHOR);
+        User assignee = new User(2L, "assignee@example.com", "$2a$10$7EqJtq98hPqEX7fNZaFWoOa1Q7sFQbqJ4Vx0YqK7hP0o2v2f4c3xW", Role.ASSIGNEE);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Task pageTask = ServiceFixture.task(i);
+            pageTask.setId((long) i + 1);
+            pageTask.setVersion(0L);
+            pageTask.setAuthor(author);
+            pageTask.setAssignee(assignee);
+            tasks.add(pageTask);
+        }
+        task = tasks.get(0);
+        taskPage = new PageImpl<>(tasks, PageRequest.of(0, 20), 1000);
+
+        comment = new Comment();
+        comment.setId(1L);
+        comment.setText("Looks good to me, but the report still needs the numbers for the last quarter.");
+        comment.setTextLength(comment.getText().length());
+        comment.setAuthor(author);
+        comment.setTask(task);
+        comment.setCreatedAt(Instant.now());
+        comment.setVersion(0L);
+    }
+
+    @Benchmark
+    public byte[] task() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] taskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] comment() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(comment);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.ChangeFeed;
+import com.example.taskmanagement.service.CommentService;
+import com.example.taskmanagement.service.CountCache;
+import com.example.taskmanagement.service.TaskCounters;
+import com.example.taskmanagement.service.TaskOutbox;
+import com.example.taskmanagement.service.TaskSearchIndex;
+import com.example.taskmanagement.service.TaskService;
+import com.example.taskmanagement.service.UserCache;
+import com.example.taskmanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TaskService and CommentService wired the way the application context wires them, with the
+ * repositories replaced by {@link InMemoryRepositories} and seeded with authors, assignees and
+ * tasks. No transaction is active, so after-commit work runs inline and is part of the measurement.
+ */
+class ServiceFixture implements AutoCloseable {
+
+    private static final String[] WORDS = {"report", "release", "review", "invoice", "migration", "backlog",
+            "deploy", "meeting", "budget", "design", "audit", "onboarding", "customer", "roadmap", "incident"};
+
+    final InMemoryRepositories repositories = new InMemoryRepositories();
+    final List<User> authors = new ArrayList<>();
+    final List<User> assignees = new ArrayList<>();
+    final List<Task> tasks = new ArrayList<>();
+    final TaskService taskService = new TaskService();
+    final CommentService commentService = new CommentService();
+    final UserService userService = new UserService();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChangeFeed changeFeed = new ChangeFeed(meterRegistry, 256, Duration.ofMinutes(30), 10000, 1, 16, Duration.ofSeconds(5));
+
+    ServiceFixture(int users, int tasksPerAuthor) {
+        TaskSearchIndex taskSearchIndex = new TaskSearchIndex();
+        TaskCounters taskCounters = new TaskCounters();
+        inject(taskCounters, "counterRepository", repositories.taskCounterRepository());
+        inject(taskCounters, "meterRegistry", meterRegistry);
+        TaskOutbox taskOutbox = new TaskOutbox();
+        inject(taskOutbox, "outboxRepository", repositories.taskOutboxRepository());
+        inject(taskOutbox, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        CountCache countCache = new CountCache(meterRegistry, 10000, Duration.ofSeconds(30));
+
+        inject(userService, "userRepository", repositories.userRepository());
+        inject(userService, "userCache", new UserCache(repositories.userRepository(), meterRegistry, 10000, Duration.ofMinutes(5)));
+
+        inject(taskService, "taskRepository", repositories.taskRepository());
+        inject(taskService, "userService", userService);
+        inject(taskService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        inject(taskService, "taskSearchIndex", taskSearchIndex);
+        inject(taskService, "taskCounters", taskCounters);
+        inject(taskService, "countCache", countCache);
+        inject(taskService, "changeFeed", changeFeed);
+        inject(taskService, "taskOutbox", taskOutbox);
+        inject(taskService, "transactionManager", new NoTransactionManager());
+        inject(taskService, "maxBatchSize", 500);
+
+        inject(commentService, "commentRepository", repositories.commentRepository());
+        inject(commentService, "taskService", taskService);
+        inject(commentService, "userService", userService);
+        inject(commentService, "countCache", countCache);
+        inject(commentService, "changeFeed", changeFeed);
+        inject(commentService, "commentBodyRepository", repositories.commentBodyRepository());
+        inject(commentService, "maxTextLength", 1000000);
+
+        for (int i = 0; i < users; i++) {
+            Role role = i % 2 == 0 ? Role.AUTHOR : Role.ASSIGNEE;
+            User user = repositories.userRepository().save(new User(null, "user" + i + "@example.com", "password", role));
+            (role == Role.AUTHOR ? authors : assignees).add(user);
+        }
+        for (User author : authors) {
+            for (int i = 0; i < tasksPerAuthor; i++) {
+                Task task = task(tasks.size());
+                task.setAuthor(author);
+                task.setAssignee(assignees.get(tasks.size() % assignees.size()));
+                task.setLastActivityAt(Instant.now());
+                tasks.add(repositories.taskRepository().save(task));
+                taskSearchIndex.put(TaskSummary.from(task));
+            }
+        }
+    }
+
+    static Task task(int seed) {
+        Task task = new Task();
+        task.setTitle(WORDS[seed % WORDS.length] + " " + WORDS[(seed / WORDS.length) % WORDS.length] + " " + seed);
+        task.setDescription("Prepare the " + WORDS[(seed * 7) % WORDS.length] + " and follow up on the "
+                + WORDS[(seed * 11) % WORDS.length] + " with the team");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.values()[seed % Priority.values().length]);
+        return task;
+    }
+
+    static UserDetails userDetails(User user) {
+        return org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+                .password(user.getPassword())
+                .roles(user.getRole().name())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        changeFeed.shutdown();
+    }
+
+    // Attempts that TaskService runs in their own transaction execute directly against the in-memory repositories
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService request paths against in-memory repositories, so the numbers cover the service's own
+ * work: user resolution, counters, search index, change feed and outbox serialization. The store
+ * is reseeded every iteration to keep the task count from growing with the create benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int USERS = 100;
+    private static final int TASKS_PER_AUTHOR = 50;
+    private static final int BATCH_SIZE = 20;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private final BindingResult noErrors = new MapBindingResult(new HashMap<>(), "task");
+    private final Map<Long, UserDetails> userDetails = new HashMap<>();
+
+    private ServiceFixture fixture;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        fixture = new ServiceFixture(USERS, TASKS_PER_AUTHOR);
+        for (User assignee : fixture.assignees) {
+            userDetails.put(assignee.getId(), ServiceFixture.userDetails(assignee));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        fixture.close();
+        userDetails.clear();
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return fixture.taskService.getTaskById(nextTask().getId());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createTask() {
+        User author = nextAuthor();
+        Principal principal = author::getEmail;
+        return fixture.taskService.createTask(ServiceFixture.task(next), noErrors, principal);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createTasks() {
+        User author = nextAuthor();
+        Principal principal = author::getEmail;
+        List<Task> tasks = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            tasks.add(ServiceFixture.task(next + i));
+        }
+        return fixture.taskService.createTasks(tasks, principal);
+    }
+
+    @Benchmark
+    public ResponseEntity<Task> updateTaskStatus() {
+        Task task = nextTask();
+        Status status = task.getStatus() == Status.IN_PROGRESS ? Status.PENDING : Status.IN_PROGRESS;
+        return fixture.taskService.updateTaskStatus(task.getId(), status, userDetails.get(task.getAssignee().getId()));
+    }
+
+    @Benchmark
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAuthor() {
+        return fixture.taskService.getTasksByAuthor(nextAuthor().getEmail(), firstPage, false);
+    }
+
+    @Benchmark
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAuthorWithCount() {
+        return fixture.taskService.getTasksByAuthor(nextAuthor().getEmail(), firstPage, true);
+    }
+
+    @Benchmark
+    public ResponseEntity<Page<TaskSummary>> searchTasks() {
+        return fixture.taskService.searchTasks("release review", 0, 20);
+    }
+
+    private Task nextTask() {
+        return fixture.tasks.get(Math.floorMod(next++, fixture.tasks.size()));
+    }
+
+    private User nextAuthor() {
+        return fixture.authors.get(Math.floorMod(next++, fixture.authors.size()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds the API requests the seeder and the driver send. Request bodies carry only what the
+ * endpoints read; author and task references are ids.
+ */
+class ApiClient {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(URI baseUri, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+    }
+
+    HttpRequest register(String email, String password, Role role) {
+        return post("/users/register", null, Map.of("email", email, "password", password, "role", role));
+    }
+
+    HttpRequest login(String email, String password) {
+        return post("/users/login", null, Map.of("email", email, "password", password));
+    }
+
+    HttpRequest createTask(SeedData.User author, String title) {
+        return post("/tasks", author.token(), task(title, Map.of("id", author.id())));
+    }
+
+    HttpRequest createTasks(SeedData.User author, List<String> titles) {
+        return post("/tasks/batch", author.token(), titles.stream().map(title -> task(title, null)).toList());
+    }
+
+    HttpRequest assignTasks(SeedData.User author, String assigneeEmail, List<Long> taskIds) {
+        return request("/tasks/assign?assigneeEmail=" + encode(assigneeEmail), author.token())
+                .method("PATCH", body(taskIds))
+                .build();
+    }
+
+    HttpRequest getTask(SeedData.User user, long taskId) {
+        return request("/tasks/" + taskId, user.token()).GET().build();
+    }
+
+    HttpRequest updateStatus(SeedData.User assignee, long taskId, Status status) {
+        return request("/tasks/" + taskId + "/status?status=" + status, assignee.token())
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    HttpRequest tasksByAuthor(SeedData.User user, String authorEmail) {
+        return request("/tasks/author?authorEmail=" + encode(authorEmail) + "&page=0&size=20", user.token())
+                .GET()
+                .build();
+    }
+
+    HttpRequest createComment(SeedData.User author, long taskId, String text) {
+        return post("/comments", author.token(),
+                Map.of("text", text, "author", Map.of("id", author.id()), "task", Map.of("id", taskId)));
+    }
+
+    // For seeding: fails unless the response has the expected status
+    String send(HttpRequest request, int expectedStatus) {
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", e);
+        }
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri().getPath() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    JsonNode sendForJson(HttpRequest request, int expectedStatus) {
+        try {
+            return objectMapper.readTree(send(request, expectedStatus));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response to " + request.uri().getPath(), e);
+        }
+    }
+
+    CompletableFuture<HttpResponse<Void>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Map<String, Object> task(String title, Object author) {
+        Map<String, Object> task = new HashMap<>();
+        task.put("title", title);
+        task.put("description", "Created by the load test");
+        task.put("status", Status.PENDING);
+        task.put("priority", Priority.MEDIUM);
+        if (author != null) {
+            task.put("author", author);
+        }
+        return task;
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return request(path, token).POST(body(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
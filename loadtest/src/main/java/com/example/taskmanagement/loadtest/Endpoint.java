@@ -0,0 +1,29 @@
+package com.example.taskmanagement.loadtest;
+
+/**
+ * The requests in the load mix. The key names the endpoint in loadtest.mix.* and in the report.
+ */
+enum Endpoint {
+    LOGIN("login", "POST /users/login"),
+    CREATE_TASK("create-task", "POST /tasks"),
+    GET_TASK("get-task", "GET /tasks/{id}"),
+    UPDATE_STATUS("update-status", "PATCH /tasks/{id}/status"),
+    TASKS_BY_AUTHOR("tasks-by-author", "GET /tasks/author"),
+    CREATE_COMMENT("create-comment", "POST /comments");
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String route() {
+        return route;
+    }
+}
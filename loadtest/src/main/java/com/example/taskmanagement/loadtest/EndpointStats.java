@@ -0,0 +1,62 @@
+package com.example.taskmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measured requests of one endpoint, in microseconds. Latency runs from the scheduled start of a
+ * request, which corrects for coordinated omission: a request that had to wait for the client or
+ * the server to catch up is charged for the wait. Service time runs from the actual send and is
+ * kept only for comparison, it is what a closed-loop tool would have reported.
+ */
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    // Status code, or the exception for requests that got no response
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long scheduledNanos, long sentNanos, long completedNanos, String outcome, boolean error) {
+        latency.recordValue(toMicros(completedNanos - scheduledNanos));
+        serviceTime.recordValue(toMicros(completedNanos - sentNanos));
+        if (error) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    long requests() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanagement.loadtest;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+/**
+ * The threads the booted application serves requests on. The virtual-threads profile only takes
+ * effect on a Java 21 runtime, so the mode is read from what Spring Boot actually enabled rather
+ * than from the active profiles.
+ */
+record ExecutionMode(String name, String javaVersion) {
+
+    static ExecutionMode of(Environment environment) {
+        return new ExecutionMode(Threading.VIRTUAL.isActive(environment) ? "virtual-threads" : "platform-threads",
+                Runtime.version().toString());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.TaskmanagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+
+/**
+ * Boots the application in this JVM on an embedded database, seeds it, runs the open-loop load
+ * and writes the report. Client and server share the machine, so the numbers are for comparing
+ * builds on the same hardware, not for absolute capacity. Exits with status 1 when the error
+ * ratio is above loadtest.max-error-ratio.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        boolean passed;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagementApplication.class).run(args)) {
+            LoadTestSettings settings = LoadTestSettings.from(context.getEnvironment());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ApiClient client = new ApiClient(URI.create("http://localhost:" + port), settings.requestTimeout());
+
+            SeedData seed = SeedData.create(client, settings);
+            OpenLoopDriver.Result result = new OpenLoopDriver(client, seed, settings).run();
+
+            LoadTestReport report = new LoadTestReport(settings, ExecutionMode.of(context.getEnvironment()), seed, result);
+            report.write();
+            passed = report.passed();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results to loadtest.report-dir: summary.txt (also printed), report.json for comparing
+ * runs, and one HdrHistogram percentile distribution per endpoint (*.hgrm) for plotting.
+ */
+class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    private final LoadTestSettings settings;
+    private final ExecutionMode executionMode;
+    private final SeedData seed;
+    private final OpenLoopDriver.Result result;
+
+    LoadTestReport(LoadTestSettings settings, ExecutionMode executionMode, SeedData seed, OpenLoopDriver.Result result) {
+        this.settings = settings;
+        this.executionMode = executionMode;
+        this.seed = seed;
+        this.result = result;
+    }
+
+    boolean passed() {
+        long requests = result.unfinished();
+        long errors = result.unfinished();
+        for (EndpointStats stats : result.stats().values()) {
+            requests += stats.requests();
+            errors += stats.errors();
+        }
+        return requests > 0 && errors <= settings.maxErrorRatio() * requests;
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(settings.reportDir());
+        String summary = summary();
+        Files.writeString(settings.reportDir().resolve("summary.txt"), summary);
+        System.out.print(summary);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.reportDir().resolve("report.json").toFile(), json());
+
+        for (Map.Entry<Endpoint, EndpointStats> entry : result.stats().entrySet()) {
+            try (PrintStream out = new PrintStream(settings.reportDir().resolve(entry.getKey().key() + ".hgrm").toFile())) {
+                entry.getValue().latency().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Target %.1f requests/s for %s after %s warmup, %d users, %d seeded tasks%n",
+                settings.rate(), settings.duration(), settings.warmup(), settings.users(), seed.tasks.size()));
+        out.append(String.format(Locale.ROOT, "Serving on %s, Java %s%n", executionMode.name(), executionMode.javaVersion()));
+        out.append("Latency from the scheduled start, corrected for coordinated omission, in milliseconds\n\n");
+        out.append(String.format(Locale.ROOT, "%-16s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rate/s", PERCENTILE_NAMES[0], PERCENTILE_NAMES[1], PERCENTILE_NAMES[2],
+                PERCENTILE_NAMES[3], "max", "svc p99"));
+        Histogram allLatency = new Histogram(3);
+        Histogram allServiceTime = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : result.stats().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            row(out, entry.getKey().key(), stats.latency(), stats.serviceTime(), stats.errors());
+            allLatency.add(stats.latency());
+            allServiceTime.add(stats.serviceTime());
+            allErrors += stats.errors();
+        }
+        row(out, "all", allLatency, allServiceTime, allErrors);
+
+        out.append(String.format(Locale.ROOT, "%nSend delay p99 %.3f ms, max %.3f ms; %d requests unfinished at the end%n",
+                millis(result.sendDelay().getValueAtPercentile(99)), millis(result.sendDelay().getMaxValue()),
+                result.unfinished()));
+        out.append("Responses:\n");
+        result.stats().forEach((endpoint, stats) ->
+                out.append(String.format(Locale.ROOT, "  %-16s %s%n", endpoint.key(), stats.outcomes())));
+        out.append(passed() ? "PASSED" : "FAILED").append(String.format(Locale.ROOT,
+                ": error ratio limit %.4f%n", settings.maxErrorRatio()));
+        return out.toString();
+    }
+
+    private void row(StringBuilder out, String name, Histogram latency, Histogram serviceTime, long errors) {
+        out.append(String.format(Locale.ROOT, "%-16s %9d %7d %9.1f", name, latency.getTotalCount(), errors,
+                throughput(latency)));
+        for (double percentile : PERCENTILES) {
+            out.append(String.format(Locale.ROOT, " %9.3f", millis(latency.getValueAtPercentile(percentile))));
+        }
+        out.append(String.format(Locale.ROOT, " %9.3f %9.3f%n", millis(latency.getMaxValue()),
+                millis(serviceTime.getValueAtPercentile(99))));
+    }
+
+    private Map<String, Object> json() {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("rate", settings.rate());
+        run.put("warmup", settings.warmup().toString());
+        run.put("duration", settings.duration().toString());
+        run.put("executionMode", executionMode.name());
+        run.put("javaVersion", executionMode.javaVersion());
+        run.put("users", settings.users());
+        run.put("tasks", seed.tasks.size());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+        run.put("mix", mix);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        result.stats().forEach((endpoint, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("route", endpoint.route());
+            entry.put("requests", stats.requests());
+            entry.put("errors", stats.errors());
+            entry.put("throughput", throughput(stats.latency()));
+            entry.put("latencyMs", percentiles(stats.latency()));
+            entry.put("serviceTimeMs", percentiles(stats.serviceTime()));
+            entry.put("responses", stats.outcomes());
+            endpoints.put(endpoint.key(), entry);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", run);
+        report.put("endpoints", endpoints);
+        report.put("sendDelayMs", percentiles(result.sendDelay()));
+        report.put("unfinished", result.unfinished());
+        report.put("passed", passed());
+        return report;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            values.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        values.put("max", millis(histogram.getMaxValue()));
+        values.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+        return values;
+    }
+
+    private double throughput(Histogram latency) {
+        return latency.getTotalCount() / (result.measured().toNanos() / 1e9);
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
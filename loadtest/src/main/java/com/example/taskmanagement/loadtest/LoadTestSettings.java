@@ -0,0 +1,63 @@
+package com.example.taskmanagement.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The loadtest.* properties, read from the booted application's environment so they can be set
+ * the same ways as any other property, including --name=value arguments.
+ */
+record LoadTestSettings(int users, int tasksPerAuthor, String password, double rate, Duration warmup,
+                        Duration duration, Duration requestTimeout, long randomSeed, Map<Endpoint, Integer> mix,
+                        double maxErrorRatio, Path reportDir) {
+
+    static LoadTestSettings from(Environment environment) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            int weight = environment.getProperty("loadtest.mix." + endpoint.key(), Integer.class, 0);
+            if (weight < 0) {
+                throw new IllegalArgumentException("loadtest.mix." + endpoint.key() + " cannot be negative");
+            }
+            if (weight > 0) {
+                mix.put(endpoint, weight);
+            }
+        }
+        LoadTestSettings settings = new LoadTestSettings(
+                environment.getRequiredProperty("loadtest.users", Integer.class),
+                environment.getRequiredProperty("loadtest.tasks-per-author", Integer.class),
+                environment.getRequiredProperty("loadtest.password"),
+                environment.getRequiredProperty("loadtest.rate", Double.class),
+                environment.getRequiredProperty("loadtest.warmup", Duration.class),
+                environment.getRequiredProperty("loadtest.duration", Duration.class),
+                environment.getRequiredProperty("loadtest.request-timeout", Duration.class),
+                environment.getRequiredProperty("loadtest.random-seed", Long.class),
+                Collections.unmodifiableMap(mix),
+                environment.getRequiredProperty("loadtest.max-error-ratio", Double.class),
+                Path.of(environment.getRequiredProperty("loadtest.report-dir")));
+        settings.validate();
+        return settings;
+    }
+
+    private void validate() {
+        if (users < 2) {
+            throw new IllegalArgumentException("loadtest.users must be at least 2, one author and one assignee");
+        }
+        if (tasksPerAuthor < 1) {
+            throw new IllegalArgumentException("loadtest.tasks-per-author must be positive");
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+            throw new IllegalArgumentException("loadtest.duration must be positive and loadtest.warmup not negative");
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one loadtest.mix.* weight must be positive");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.model.Status;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests on a fixed schedule of loadtest.rate per second, picking the endpoint by the
+ * mix weights, and never waits for a response before starting the next one. Requests scheduled
+ * during the warmup are sent but not recorded.
+ */
+class OpenLoopDriver {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final ApiClient client;
+    private final SeedData seed;
+    private final LoadTestSettings settings;
+    private final Random random;
+    private final Endpoint[] wheel;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    // How far behind schedule requests were sent; large values mean the client is the bottleneck
+    private final Histogram sendDelay = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int created;
+
+    OpenLoopDriver(ApiClient client, SeedData seed, LoadTestSettings settings) {
+        this.client = client;
+        this.seed = seed;
+        this.settings = settings;
+        this.random = new Random(settings.randomSeed());
+        List<Endpoint> wheel = new ArrayList<>();
+        settings.mix().forEach((endpoint, weight) -> {
+            wheel.addAll(Collections.nCopies(weight, endpoint));
+            stats.put(endpoint, new EndpointStats());
+        });
+        this.wheel = wheel.toArray(new Endpoint[0]);
+    }
+
+    Result run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = request(endpoint);
+            boolean measured = scheduled >= measureFrom;
+            long sent = System.nanoTime();
+            if (measured) {
+                long delay = TimeUnit.NANOSECONDS.toMicros(sent - scheduled);
+                sendDelay.recordValue(Math.min(sendDelay.getHighestTrackableValue(), delay));
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request).whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                if (measured) {
+                    if (failure != null) {
+                        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                        String outcome = cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+                        stats.get(endpoint).record(scheduled, sent, completed, outcome, true);
+                    } else {
+                        int status = response.statusCode();
+                        stats.get(endpoint).record(scheduled, sent, completed, String.valueOf(status), status >= 400);
+                    }
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        // Every request times out eventually, so this only waits for the stragglers
+        long deadline = System.nanoTime() + settings.requestTimeout().multipliedBy(2).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return new Result(stats, sendDelay, settings.duration(), inFlight.get());
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case LOGIN -> client.login(anyUser().email(), settings.password());
+            case CREATE_TASK -> client.createTask(any(seed.authors), "Load test task " + created++);
+            case GET_TASK -> client.getTask(anyUser(), any(seed.tasks).id());
+            case UPDATE_STATUS -> {
+                SeedData.Task task = any(seed.tasks);
+                yield client.updateStatus(task.assignee(), task.id(), STATUSES[random.nextInt(STATUSES.length)]);
+            }
+            case TASKS_BY_AUTHOR -> client.tasksByAuthor(anyUser(), any(seed.authors).email());
+            case CREATE_COMMENT -> client.createComment(anyUser(), any(seed.tasks).id(), "Load test comment");
+        };
+    }
+
+    private SeedData.User anyUser() {
+        return random.nextBoolean() ? any(seed.authors) : any(seed.assignees);
+    }
+
+    private <T> T any(List<T> items) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    record Result(Map<Endpoint, EndpointStats> stats, Histogram sendDelay, Duration measured, int unfinished) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.model.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Users and tasks created over the API before the run, with a token per user so the driver never
+ * has to log in outside the login share of the mix.
+ */
+class SeedData {
+
+    // Registration and login hash passwords on a bounded pool, so seed with only a few at a time
+    private static final int PARALLELISM = 4;
+    private static final int BATCH_SIZE = 500;
+
+    final List<User> authors = new ArrayList<>();
+    final List<User> assignees = new ArrayList<>();
+    final List<Task> tasks = new ArrayList<>();
+
+    record User(long id, String email, String token) {
+    }
+
+    record Task(long id, User author, User assignee) {
+    }
+
+    static SeedData create(ApiClient client, LoadTestSettings settings) throws Exception {
+        SeedData seed = new SeedData();
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < settings.users(); i++) {
+                indexes.add(i);
+            }
+            List<User> users = inParallel(executor, indexes, i -> {
+                Role role = i % 2 == 0 ? Role.AUTHOR : Role.ASSIGNEE;
+                String email = "loadtest" + i + "@example.com";
+                JsonNode user = client.sendForJson(client.register(email, settings.password(), role), 201);
+                String token = client.send(client.login(email, settings.password()), 200);
+                return new User(user.get("id").asLong(), email, token);
+            });
+            for (int i = 0; i < users.size(); i++) {
+                (i % 2 == 0 ? seed.authors : seed.assignees).add(users.get(i));
+            }
+
+            List<List<Task>> tasks = inParallel(executor, seed.authors, author -> seed.createTasks(client, author,
+                    settings.tasksPerAuthor()));
+            tasks.forEach(seed.tasks::addAll);
+        } finally {
+            executor.shutdownNow();
+        }
+        return seed;
+    }
+
+    // Spreads each author's tasks over all assignees, starting at a different one per author
+    private List<Task> createTasks(ApiClient client, User author, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            List<String> titles = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + BATCH_SIZE); i++) {
+                titles.add("Load test task " + i + " of " + author.email());
+            }
+            for (JsonNode task : client.sendForJson(client.createTasks(author, titles), 201)) {
+                ids.add(task.get("id").asLong());
+            }
+        }
+
+        int offset = authors.indexOf(author);
+        List<List<Long>> idsByAssignee = new ArrayList<>();
+        assignees.forEach(assignee -> idsByAssignee.add(new ArrayList<>()));
+        for (int i = 0; i < ids.size(); i++) {
+            idsByAssignee.get((offset + i) % assignees.size()).add(ids.get(i));
+        }
+        List<Task> created = new ArrayList<>(count);
+        for (int a = 0; a < assignees.size(); a++) {
+            User assignee = assignees.get(a);
+            List<Long> assigned = idsByAssignee.get(a);
+            for (int from = 0; from < assigned.size(); from += BATCH_SIZE) {
+                List<Long> batch = assigned.subList(from, Math.min(assigned.size(), from + BATCH_SIZE));
+                client.send(client.assignTasks(author, assignee.email(), batch), 200);
+            }
+            assigned.forEach(id -> created.add(new Task(id, author, assignee)));
+        }
+        return created;
+    }
+
+    private static <T, R> List<R> inParallel(ExecutorService executor, List<T> items, Function<T, R> work)
+            throws Exception {
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> work.apply(item)));
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
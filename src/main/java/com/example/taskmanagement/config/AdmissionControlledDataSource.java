@@ -0,0 +1,129 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most a fixed number of threads hold or wait for a pooled connection. The rest queue
+ * on a fair semaphore and give up with 503 after a timeout, so an unbounded number of request
+ * threads (virtual threads in particular) cannot pile up inside the pool. A thread that already
+ * holds a connection gets further ones without a permit: the id-block fetch Hibernate runs on a
+ * second connection would otherwise wait for a permit held by the transaction that needs it.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long timeoutNanos;
+    private final long retryAfterSeconds;
+    private final AtomicLong rejected = new AtomicLong();
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public AdmissionControlledDataSource(DataSource target, int maxConcurrent, Duration timeout, long retryAfterSeconds) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.timeoutNanos = timeout.toNanos();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return admitted(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return admitted(() -> super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        // The pool bean is replaced by this one, so its shutdown has to go through here
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.incrementAndGet();
+                throw new ServiceUnavailableException("Database is busy, try again later", retryAfterSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    // The count belongs to the acquiring thread, even if another thread closes the connection
+    private Connection admitted(ConnectionSource source) throws SQLException {
+        AtomicInteger count = held.get();
+        boolean permit = count.get() == 0;
+        if (permit) {
+            acquire();
+        }
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            if (permit) {
+                permits.release();
+            }
+            throw e;
+        }
+        count.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                if (released.compareAndSet(false, true)) {
+                    try {
+                        connection.close();
+                    } finally {
+                        count.decrementAndGet();
+                        if (permit) {
+                            permits.release();
+                        }
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts {@link AdmissionControlledDataSource} in front of the auto-configured pool. Enabled by
+ * the virtual-threads profile, where request concurrency is no longer capped by Tomcat's pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.admission.enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceAdmission(@Value("${datasource.admission.max-concurrent:10}") int maxConcurrent,
+                                                 @Value("${datasource.admission.timeout:PT2S}") Duration timeout,
+                                                 @Value("${datasource.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pool the application uses, not the pools behind it when replicas are configured
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new AdmissionControlledDataSource(dataSource, maxConcurrent, timeout, retryAfterSeconds);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceAdmissionMetrics(DataSource dataSource) {
+        AdmissionControlledDataSource admission = DataSourceUnwrapper.unwrap(dataSource, AdmissionControlledDataSource.class);
+        return registry -> {
+            if (admission == null) {
+                return;
+            }
+            Gauge.builder("datasource.admission.in-use", admission, AdmissionControlledDataSource::getInUse).register(registry);
+            Gauge.builder("datasource.admission.waiting", admission, AdmissionControlledDataSource::getWaiting).register(registry);
+            FunctionCounter.builder("datasource.admission.rejected", admission, AdmissionControlledDataSource::getRejected).register(registry);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts {@link NestedConnectionDataSource} in front of the primary pool, with a reserve pool of
+ * datasource.reserve.maximum-pool-size connections to the same database. Disabled when that is 0.
+ */
+@Configuration
+@ConditionalOnExpression("${datasource.reserve.maximum-pool-size:3} > 0")
+public class DataSourceReserveConfig {
+
+    // Declared with its own type so the bean factory sees it is Ordered before creating it
+    @Bean
+    static ReservePostProcessor dataSourceReserve(@Value("${datasource.reserve.maximum-pool-size:3}") int maximumPoolSize) {
+        return new ReservePostProcessor(maximumPoolSize);
+    }
+
+    // Runs before the admission wrapper, which would hide the pool
+    private static class ReservePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final int maximumPoolSize;
+
+        ReservePostProcessor(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // The auto-configured pool, or the primary one when replicas are configured
+            if (("dataSource".equals(beanName) || "primaryDataSource".equals(beanName)) && bean instanceof HikariDataSource pool) {
+                HikariDataSource reserve = new HikariDataSource();
+                reserve.setPoolName("reserve");
+                reserve.setJdbcUrl(pool.getJdbcUrl());
+                reserve.setDriverClassName(pool.getDriverClassName());
+                reserve.setUsername(pool.getUsername());
+                reserve.setPassword(pool.getPassword());
+                reserve.setDataSourceProperties(pool.getDataSourceProperties());
+                reserve.setMaximumPoolSize(maximumPoolSize);
+                return new NestedConnectionDataSource(pool, reserve);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves connections that a thread asks for while it already holds one from a separate reserve
+ * pool. Hibernate fetches each block of ids on such a second connection (MySQL has no sequences,
+ * so the ids come from a table), and if those fetches competed with the requests for the main
+ * pool, requests holding every connection could all wait on one fetch until the pool timeout.
+ * Nested connections are short and never nest further, so a small reserve is enough.
+ */
+public class NestedConnectionDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final DataSource reserve;
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public NestedConnectionDataSource(DataSource target, DataSource reserve) {
+        super(target);
+        this.reserve = reserve;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger count = held.get();
+        return tracked(count.get() > 0 ? reserve.getConnection() : super.getConnection(), count);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger count = held.get();
+        return tracked(count.get() > 0 ? reserve.getConnection(username, password) : super.getConnection(username, password), count);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (reserve instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        // The main pool bean is replaced by this one, so its shutdown has to go through here
+        if (getTargetDataSource() != null && getTargetDataSource().isWrapperFor(AutoCloseable.class)) {
+            getTargetDataSource().unwrap(AutoCloseable.class).close();
+        }
+    }
+
+    // The count belongs to the acquiring thread, even if another thread closes the connection
+    private Connection tracked(Connection connection, AtomicInteger count) {
+        count.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                if (released.compareAndSet(false, true)) {
+                    try {
+                        connection.close();
+                    } finally {
+                        count.decrementAndGet();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round-robin over the ones that
+ * are currently healthy, and everything else to the primary. A replica that fails to hand out a
+ * connection or a health check is skipped until a later check succeeds. A user who just committed
+ * a write keeps reading from the primary for a short window, so replication lag never hides it.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routesToReplica()) {
+            for (Replica replica : healthyReplicasInTurn()) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                }
+            }
+        } else {
+            rememberWriter();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routesToReplica()) {
+            for (Replica replica : healthyReplicasInTurn()) {
+                try {
+                    return replica.dataSource.getConnection(username, password);
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                }
+            }
+        } else {
+            rememberWriter();
+        }
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(1);
+            } catch (SQLException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean routesToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && routesReadOnlyToReplica();
+    }
+
+    // Whether a read-only transaction of the current user is sent to a replica, as long as one is healthy
+    public boolean routesReadOnlyToReplica() {
+        String user = currentUser();
+        return user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    private List<Replica> healthyReplicasInTurn() {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        return IntStream.range(0, replicas.size())
+                .mapToObj(i -> replicas.get((start + i) % replicas.size()))
+                .filter(replica -> replica.healthy)
+                .toList();
+    }
+
+    // The window starts at commit, which is when replication of the write starts
+    private void rememberWriter() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
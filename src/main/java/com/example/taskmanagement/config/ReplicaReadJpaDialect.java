@@ -0,0 +1,53 @@
+package com.example.taskmanagement.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps what transactions routed to a replica read out of the second-level cache. The replica may
+ * lag behind, and a stale entity cached from it would be served to every later reader, including
+ * the ones {@link ReadWriteRoutingDataSource} sends to the primary to read their own writes.
+ * Entities already cached are still read from the cache.
+ */
+class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    ReplicaReadJpaDialect(ReadWriteRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || !routingDataSource.routesReadOnlyToReplica()) {
+            return transactionData;
+        }
+        Object storeMode = entityManager.getProperties().getOrDefault(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+        // A session property rather than the session cache mode, which find() does not consult
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaRead(transactionData, entityManager, storeMode);
+    }
+
+    // With open-in-view the session outlives the transaction, so the next one gets the mode back
+    @Override
+    public void cleanupTransaction(@Nullable Object transactionData) {
+        if (transactionData instanceof ReplicaRead replicaRead) {
+            replicaRead.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, replicaRead.storeMode());
+            transactionData = replicaRead.transactionData();
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaRead(@Nullable Object transactionData, EntityManager entityManager, Object storeMode) {
+    }
+}
@@ -1,18 +1,23 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.CommentSummary;
 import com.example.taskmanagement.model.Comment;
 import com.example.taskmanagement.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @RestController
@@ -28,19 +33,63 @@ public class CommentController {
     }
 
     @GetMapping("/task/{taskId}")
-    public ResponseEntity<Page<Comment>> getCommentsByTask(@PathVariable Long taskId, Pageable pageable) {
-        Optional<Page<Comment>> comments = commentService.getCommentsByTask(taskId, pageable);
-        return comments.map(ResponseEntity::ok)
+    public ResponseEntity<Slice<CommentSummary>> getCommentsByTask(
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Pageable pageable) {
+        if (ifNoneMatch != null) {
+            Optional<String> tag = commentService.getCommentsPageTag(taskId, pageable, count);
+            if (tag.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            String etag = ETags.of(tag.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+        }
+        Optional<Slice<CommentSummary>> comments = commentService.getCommentsByTask(taskId, pageable, count);
+        return comments.map(found -> ResponseEntity.ok().eTag(ETags.of(commentService.getCommentsPageTag(found))).body(found))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Comment> getCommentById(@PathVariable Long id) {
+    public ResponseEntity<Comment> getCommentById(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = commentService.getCommentVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            String etag = ETags.of(version.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+        }
         Optional<Comment> comment = commentService.getCommentById(id);
-        return comment.map(ResponseEntity::ok)
+        return comment.map(found -> ResponseEntity.ok().eTag(ETags.of(found.getVersion())).body(found))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Full text of a comment, which listings and the comment itself only carry a preview of
+    @GetMapping("/{id}/text")
+    public ResponseEntity<StreamingResponseBody> getCommentText(@PathVariable Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Comment> comment = commentService.getCommentById(id);
+        if (comment.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        String etag = ETags.of(comment.get().getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        StreamingResponseBody body = out -> commentService.writeCommentText(comment.get(), out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .eTag(etag)
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateComment(@PathVariable Long id, @Valid @RequestBody Comment newComment, BindingResult bindingResult, @AuthenticationPrincipal UserDetails userDetails) {
         return commentService.updateComment(id, newComment, bindingResult, userDetails);
@@ -1,22 +1,37 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
 import com.example.taskmanagement.model.Status;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tasks")
@@ -25,15 +40,37 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Value("${tasks.export.timeout:PT1H}")
+    private Duration exportTimeout;
+
     @PostMapping
     public ResponseEntity<?> createTask(@Valid @RequestBody Task task, BindingResult bindingResult, Principal principal) {
         return taskService.createTask(task, bindingResult, principal);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<Task> tasks, Principal principal) {
+        return taskService.createTasks(tasks, principal);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = taskService.getTaskVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            String etag = ETags.of(version.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+        }
         Optional<Task> task = taskService.getTaskById(id);
-        return task.map(ResponseEntity::ok)
+        return task.map(found -> ResponseEntity.ok().eTag(ETags.of(found.getVersion())).body(found))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -54,29 +91,90 @@ public class TaskController {
 
 
     @GetMapping("/author")
-    public ResponseEntity<Page<Task>> getTasksByAuthor(
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAuthor(
             @RequestParam String authorEmail,
             @RequestParam int page,
-            @RequestParam int size) {
+            @RequestParam int size,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         Pageable pageable = PageRequest.of(page, size);
-        return taskService.getTasksByAuthor(authorEmail, pageable);
+        return taskService.getTasksByAuthor(authorEmail, pageable, count);
     }
 
     @GetMapping("/assignee")
-    public ResponseEntity<Page<Task>> getTasksByAssignee(
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAssignee(
             @RequestParam String assigneeEmail,
             @RequestParam int page,
-            @RequestParam int size) {
+            @RequestParam int size,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         Pageable pageable = PageRequest.of(page, size);
-        return taskService.getTasksByAssignee(assigneeEmail, pageable);
+        return taskService.getTasksByAssignee(assigneeEmail, pageable, count);
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    public ResponseEntity<CursorPage<TaskSummary>> getTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort) {
+
+        return taskService.getTasks(cursor, size, sort);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats(@RequestParam String email) {
+        return taskService.getTaskStats(email);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<Slice<TaskSummary>> filterTasks(
+            @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Set<Status> status,
+            @RequestParam(required = false) Set<Priority> priority,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+
+        return taskService.filterTasks(authorEmail, assigneeEmail, status, priority, sort, page, size);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<TaskSummary>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+
+        return taskService.searchTasks(q, page, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(HttpServletRequest request) {
+        // Only the export runs this long, other async requests keep the default timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = taskExportService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToChanges(
+            @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Long taskId) {
+
+        return taskService.subscribeToChanges(authorEmail, assigneeEmail, taskId);
+    }
+
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateTaskStatuses(@RequestParam Status status, @RequestBody List<Long> ids, @AuthenticationPrincipal UserDetails userDetails) {
+        return taskService.updateTaskStatuses(ids, status, userDetails);
+    }
+
+    @PatchMapping("/assign")
+    public ResponseEntity<?> assignTasksToUser(@RequestParam String assigneeEmail, @RequestBody List<Long> ids, Principal principal) {
+        return taskService.assignTasksToUser(ids, assigneeEmail, principal);
     }
 
     @PatchMapping("/{id}/assign")
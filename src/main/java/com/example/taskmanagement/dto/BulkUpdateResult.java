@@ -0,0 +1,9 @@
+package com.example.taskmanagement.dto;
+
+public enum BulkUpdateResult {
+    UPDATED,
+    NOT_FOUND,
+    FORBIDDEN,
+    // The task changed while the request was processed; sending the id again retries it
+    CONFLICT
+}
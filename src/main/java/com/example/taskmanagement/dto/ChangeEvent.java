@@ -0,0 +1,25 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One committed change as pushed on the change feed; task is null for deletions and comment events
+@Data
+@NoArgsConstructor
+public class ChangeEvent {
+    private long sequence;
+    private ChangeType type;
+    private Long taskId;
+    private Long commentId;
+    private TaskSummary task;
+    private CommentSummary comment;
+
+    // Only used to match subscriber filters
+    @JsonIgnore
+    private Long authorId;
+    @JsonIgnore
+    private Long assigneeId;
+    @JsonIgnore
+    private Long previousAssigneeId;
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanagement.dto;
+
+public enum ChangeType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_STATUS_CHANGED,
+    TASK_ASSIGNED,
+    TASK_DELETED,
+    COMMENT_CREATED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentSummary {
+    private Long id;
+    private String text;
+    private int textLength;
+    private String authorEmail;
+    private Instant createdAt;
+    // Only for the page ETag
+    @JsonIgnore
+    private Long version;
+}
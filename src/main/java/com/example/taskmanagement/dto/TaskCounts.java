@@ -0,0 +1,18 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCounts {
+    private long total;
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+}
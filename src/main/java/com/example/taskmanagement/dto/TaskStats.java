@@ -0,0 +1,14 @@
+package com.example.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStats {
+    private String email;
+    private TaskCounts authored;
+    private TaskCounts assigned;
+}
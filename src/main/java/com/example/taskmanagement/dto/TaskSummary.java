@@ -0,0 +1,33 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Flat read model for task listings, built directly by JPQL constructor expressions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummary {
+    private Long id;
+    private String title;
+    private String description;
+    private Status status;
+    private Priority priority;
+    private String authorEmail;
+    private String assigneeEmail;
+    private long commentCount;
+    private Instant lastActivityAt;
+
+    public static TaskSummary from(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+                task.getAuthor() == null ? null : task.getAuthor().getEmail(),
+                task.getAssignee() == null ? null : task.getAssignee().getEmail(),
+                task.getCommentCount(), task.getLastActivityAt());
+    }
+}
@@ -1,26 +1,51 @@
 package com.example.taskmanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "comment")
 @Data
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
+    public static final int PREVIEW_LENGTH = 1000;
+
+    // Whole text up to PREVIEW_LENGTH characters, otherwise its start; the rest is in comment_body
+    @Column(nullable = false, length = PREVIEW_LENGTH)
     @NotBlank(message = "Text cannot be blank")
     private String text;
 
-    @ManyToOne
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int textLength;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Author cannot be null")
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Task cannot be null")
     private Task task;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,50 @@
+package com.example.taskmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Plain JDBC access to comment_body, the compressed full text of long comments. Kept out of the
+ * Comment mapping so neither entity loads nor the second-level cache ever carry the bodies.
+ */
+@Repository
+public class CommentBodyRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void save(Long commentId, byte[] body) {
+        jdbcTemplate.update("insert into comment_body (comment_id, body) values (?, ?) on duplicate key update body = ?",
+                commentId, body, body);
+    }
+
+    public void delete(Long commentId) {
+        jdbcTemplate.update("delete from comment_body where comment_id = ?", commentId);
+    }
+
+    // Hands the stored bytes to the reader while the row is open; false if there is no body
+    public boolean read(Long commentId, BodyReader reader) {
+        Boolean found = jdbcTemplate.query("select body from comment_body where comment_id = ?", rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            try (InputStream body = rs.getBinaryStream(1)) {
+                reader.read(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }, commentId);
+        return Boolean.TRUE.equals(found);
+    }
+
+    public interface BodyReader {
+
+        void read(InputStream body) throws IOException;
+    }
+}
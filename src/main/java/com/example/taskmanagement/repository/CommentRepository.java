@@ -1,11 +1,45 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.dto.EntityVersion;
 import com.example.taskmanagement.model.Comment;
-import com.example.taskmanagement.model.Task;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    Page<Comment> findByTask(Task task, Pageable pageable);
+
+    String SUMMARY_SELECT = "select new com.example.taskmanagement.dto.CommentSummary("
+            + "c.id, c.text, c.textLength, a.email, c.createdAt, c.version) "
+            + "from Comment c join c.author a ";
+
+    // Reads one extra row to fill Slice.hasNext instead of running a count query
+    @Query(SUMMARY_SELECT + "where c.task.id = :taskId")
+    Slice<CommentSummary> findSummarySliceByTaskId(Long taskId, Pageable pageable);
+
+    // Same rows and order as findSummarySliceByTaskId for a given pageable, read without the author join
+    @Query("select new com.example.taskmanagement.dto.EntityVersion(c.id, c.version) "
+            + "from Comment c where c.task.id = :taskId")
+    Slice<EntityVersion> findVersionSliceByTaskId(Long taskId, Pageable pageable);
+
+    @Query("select c.version from Comment c where c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select count(c) from Comment c where c.task.id = :taskId")
+    long countByTaskId(Long taskId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select c from Comment c join fetch c.author order by c.task.id, c.id")
+    Stream<Comment> streamAllOrderByTaskId();
 }
@@ -0,0 +1,72 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Plain JDBC access to the task_counter summary table. Statements join the surrounding
+ * JPA transaction, so adjustments commit or roll back together with the task change.
+ */
+@Repository
+public class TaskCounterRepository {
+
+    public static final String AUTHOR = "AUTHOR";
+    public static final String ASSIGNEE = "ASSIGNEE";
+
+    private static final RowMapper<Counter> COUNTER_MAPPER = (rs, rowNum) -> new Counter(
+            rs.getLong(1), rs.getString(2), Status.valueOf(rs.getString(3)), Priority.valueOf(rs.getString(4)), rs.getLong(5));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void adjust(List<Counter> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into task_counter (user_id, relation, status, priority, task_count) "
+                        + "values (?, ?, ?, ?, ?) on duplicate key update task_count = task_count + ?",
+                deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.userId());
+                    ps.setString(2, delta.relation());
+                    ps.setString(3, delta.status().name());
+                    ps.setString(4, delta.priority().name());
+                    ps.setLong(5, delta.count());
+                    ps.setLong(6, delta.count());
+                });
+    }
+
+    public List<Counter> findAll() {
+        return jdbcTemplate.query("select user_id, relation, status, priority, task_count from task_counter "
+                + "where task_count <> 0", COUNTER_MAPPER);
+    }
+
+    // Ground truth for reconciliation, grouped along idx_task_author and idx_task_assignee
+    public List<Counter> countFromTasks() {
+        return jdbcTemplate.query("select author_id, '" + AUTHOR + "', status, priority, count(*) from task "
+                + "group by author_id, status, priority "
+                + "union all "
+                + "select assignee_id, '" + ASSIGNEE + "', status, priority, count(*) from task "
+                + "where assignee_id is not null group by assignee_id, status, priority", COUNTER_MAPPER);
+    }
+
+    // Sets the counter to the recounted value unless it no longer holds the count it was read with,
+    // in which case a task change adjusted it since and the recount may be out of date
+    public boolean correct(Counter seen, long actual) {
+        if (seen.count() == 0) {
+            jdbcTemplate.update("insert ignore into task_counter (user_id, relation, status, priority, task_count) "
+                    + "values (?, ?, ?, ?, 0)", seen.userId(), seen.relation(), seen.status().name(), seen.priority().name());
+        }
+        return jdbcTemplate.update("update task_counter set task_count = ? "
+                        + "where user_id = ? and relation = ? and status = ? and priority = ? and task_count = ?",
+                actual, seen.userId(), seen.relation(), seen.status().name(), seen.priority().name(), seen.count()) == 1;
+    }
+
+    public record Counter(long userId, String relation, Status status, Priority priority, long count) {
+    }
+}
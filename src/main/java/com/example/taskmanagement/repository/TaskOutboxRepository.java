@@ -0,0 +1,81 @@
+package com.example.taskmanagement.repository;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the task_outbox table. Appends join the surrounding JPA transaction,
+ * so an event is stored exactly when the task change it describes commits.
+ */
+@Repository
+public class TaskOutboxRepository {
+
+    private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getTimestamp(5).toInstant());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void append(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into task_outbox (task_id, event_type, payload, created_at) values (?, ?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    ps.setLong(1, event.taskId());
+                    ps.setString(2, event.type());
+                    ps.setString(3, event.payload());
+                    ps.setTimestamp(4, Timestamp.from(event.createdAt()));
+                });
+    }
+
+    // Claims the oldest events up to the first one another relay still holds, so relays take turns
+    // and events leave in id order. Run it in a transaction of its own: the rows are only locked
+    // until the claim commits, and the caller publishes afterwards.
+    public List<OutboxEvent> claimOldest(int limit, Instant now, Duration claimTimeout) {
+        List<OutboxEvent> events = jdbcTemplate.query("select id, task_id, event_type, payload, created_at, claimed_until "
+                + "from task_outbox order by id limit ? for update", rs -> {
+            List<OutboxEvent> claimable = new ArrayList<>();
+            while (rs.next()) {
+                Timestamp claimedUntil = rs.getTimestamp(6);
+                if (claimedUntil != null && claimedUntil.toInstant().isAfter(now)) {
+                    break;
+                }
+                claimable.add(EVENT_MAPPER.mapRow(rs, claimable.size()));
+            }
+            return claimable;
+        }, limit);
+        Timestamp claimedUntil = Timestamp.from(now.plus(claimTimeout));
+        jdbcTemplate.batchUpdate("update task_outbox set claimed_until = ? where id = ?", events, events.size(),
+                (ps, event) -> {
+                    ps.setTimestamp(1, claimedUntil);
+                    ps.setLong(2, event.id());
+                });
+        return events;
+    }
+
+    // Lets the next attempt take the events again without waiting for the claim to run out
+    public void release(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate("update task_outbox set claimed_until = null where id = ?", events, events.size(),
+                (ps, event) -> ps.setLong(1, event.id()));
+    }
+
+    // By id rather than up to the last id: a lower id can still be uncommitted when a higher one is read
+    public void delete(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate("delete from task_outbox where id = ?", events, events.size(),
+                (ps, event) -> ps.setLong(1, event.id()));
+    }
+
+    // The payload is already JSON and is written as is when an event is serialized
+    public record OutboxEvent(Long id, long taskId, String type, @JsonRawValue String payload, Instant createdAt) {
+    }
+}
@@ -1,17 +1,67 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
 import com.example.taskmanagement.model.Task;
-import com.example.taskmanagement.model.User;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByAuthor(User author, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSummaryQueries, TaskUpdates {
 
-    Page<Task> findByAssignee(User assignee, Pageable pageable);
+    String SUMMARY_SELECT = "select new com.example.taskmanagement.dto.TaskSummary("
+            + "t.id, t.title, t.description, t.status, t.priority, a.email, s.email, t.commentCount, t.lastActivityAt) "
+            + "from Task t join t.author a left join t.assignee s ";
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Optional<Task> findById(Long id);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // Filters on the foreign key columns so the task indexes drive the join, not the users table
+    @Query(SUMMARY_SELECT + "where t.author.id = :authorId")
+    Slice<TaskSummary> findSummarySliceByAuthorId(Long authorId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.assignee.id = :assigneeId")
+    Slice<TaskSummary> findSummarySliceByAssigneeId(Long assigneeId, Pageable pageable);
+
+    @Query("select count(t) from Task t where t.author.id = :authorId")
+    long countByAuthorId(Long authorId);
+
+    @Query("select count(t) from Task t where t.assignee.id = :assigneeId")
+    long countByAssigneeId(Long assigneeId);
+
+    @Query(SUMMARY_SELECT + "where t.id > :afterId order by t.id")
+    List<TaskSummary> findSummariesAfterId(long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.priority = :priority and t.id > :afterId order by t.id")
+    List<TaskSummary> findSummariesByPriorityAfterId(Priority priority, long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by t.id")
+    Stream<TaskSummary> streamSummariesOrderById();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from Task t join fetch t.author left join fetch t.assignee order by t.id")
+    Stream<Task> streamAllOrderById();
+
+    @Query("select t from Task t join fetch t.author left join fetch t.assignee where t.id in :ids")
+    List<Task> findAllWithUsersByIdIn(Collection<Long> ids);
 
     Task save(Task task);
 
@@ -0,0 +1,35 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Building blocks for {@link TaskSummaryQueries#findSummaries}. A null or empty argument
+ * yields no restriction, so callers can combine every filter unconditionally.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Compare foreign key columns directly so no join is needed just to filter
+    public static Specification<Task> authoredBy(Long authorId) {
+        return (root, query, cb) -> authorId == null ? null : cb.equal(root.get("author").get("id"), authorId);
+    }
+
+    public static Specification<Task> assignedTo(Long assigneeId) {
+        return (root, query, cb) -> assigneeId == null ? null : cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> statusIn(Collection<Status> statuses) {
+        return (root, query, cb) -> statuses == null || statuses.isEmpty() ? null : root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<Priority> priorities) {
+        return (root, query, cb) -> priorities == null || priorities.isEmpty() ? null : root.get("priority").in(priorities);
+    }
+}
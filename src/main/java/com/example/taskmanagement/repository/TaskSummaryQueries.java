@@ -0,0 +1,13 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TaskSummaryQueries {
+
+    // Reads one extra row to fill Slice.hasNext, there is no count query
+    Slice<TaskSummary> findSummaries(Specification<Task> specification, Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class TaskSummaryQueriesImpl implements TaskSummaryQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskSummary> findSummaries(Specification<Task> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> author = task.join("author");
+        Join<Task, User> assignee = task.join("assignee", JoinType.LEFT);
+
+        query.select(cb.construct(TaskSummary.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("status"),
+                task.get("priority"), author.get("email"), assignee.get("email"),
+                task.get("commentCount"), task.get("lastActivityAt")));
+        Predicate where = specification == null ? null : specification.toPredicate(task, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+
+        List<TaskSummary> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public interface TaskUpdates {
+
+    // Single-column updates guarded by the owner and by the version the task was read with, so a
+    // concurrent edit makes them match no row instead of being overwritten. The task is detached
+    // either way because its managed state no longer matches the row. Both count as activity.
+    boolean updateStatus(Task task, Long assigneeId, Status status);
+
+    boolean updateAssignee(Task task, Long authorId, User assignee);
+
+    // Same updates for many tasks, sent as one JDBC batch; returns the ids whose row matched
+    Set<Long> updateStatuses(List<Task> tasks, Long assigneeId, Status status);
+
+    Set<Long> updateAssignees(List<Task> tasks, Long authorId, User assignee);
+
+    // Comment activity as relative updates, so concurrent comments on one task never lose a count.
+    // They leave the version alone: comments do not conflict with edits to the task itself.
+    void commentAdded(Long taskId, Instant at);
+
+    void commentRemoved(Long taskId);
+
+    // Ids of tasks whose comment_count or last_activity_at disagree with the comment table, in id order
+    List<Long> findCommentActivityDrift();
+
+    // Recounts comment_count and last_activity_at from the comment table where they drifted,
+    // for the tasks with ids from fromId to toId inclusive
+    int reconcileCommentActivity(long fromId, long toId);
+
+    // Hibernate does not see these writes, so the cached entity has to be dropped after commit
+    void evictCached(Long taskId);
+}
@@ -0,0 +1,137 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Plain JDBC rather than JPQL bulk updates, which would clear the whole task cache region on every call
+class TaskUpdatesImpl implements TaskUpdates {
+
+    private static final String UPDATE_STATUS = "update task set status = ?, last_activity_at = ?, version = version + 1 "
+            + "where id = ? and assignee_id = ? and version = ?";
+
+    private static final String UPDATE_ASSIGNEE = "update task set assignee_id = ?, last_activity_at = ?, version = version + 1 "
+            + "where id = ? and author_id = ? and version = ?";
+
+    private static final String COMMENT_ADDED = "update task set comment_count = comment_count + 1, "
+            + "last_activity_at = case when last_activity_at is null or last_activity_at < ? then ? else last_activity_at end "
+            + "where id = ?";
+
+    private static final String COMMENT_REMOVED = "update task set comment_count = comment_count - 1 "
+            + "where id = ? and comment_count > 0";
+
+    private static final String COMMENT_ACTIVITY_DRIFT = "select t.id from task t left join "
+            + "(select task_id, count(*) comments, max(created_at) latest from comment group by task_id) c on c.task_id = t.id "
+            + "where t.comment_count <> coalesce(c.comments, 0) "
+            + "or c.latest is not null and (t.last_activity_at is null or t.last_activity_at < c.latest) "
+            + "order by t.id";
+
+    private static final String RECONCILE_COMMENT_COUNT = "update task t "
+            + "set comment_count = (select count(*) from comment c where c.task_id = t.id) "
+            + "where t.id between ? and ? "
+            + "and comment_count <> (select count(*) from comment c where c.task_id = t.id)";
+
+    private static final String RECONCILE_LAST_ACTIVITY = "update task t "
+            + "set last_activity_at = (select max(c.created_at) from comment c where c.task_id = t.id) "
+            + "where t.id between ? and ? "
+            + "and ((last_activity_at is null and exists (select 1 from comment c where c.task_id = t.id)) "
+            + "or last_activity_at < (select max(c.created_at) from comment c where c.task_id = t.id))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean updateStatus(Task task, Long assigneeId, Status status) {
+        Instant now = Instant.now();
+        int rows = jdbcTemplate.update(UPDATE_STATUS, status.name(), Timestamp.from(now), task.getId(), assigneeId, task.getVersion());
+        return applied(task, rows, now);
+    }
+
+    @Override
+    public boolean updateAssignee(Task task, Long authorId, User assignee) {
+        Instant now = Instant.now();
+        int rows = jdbcTemplate.update(UPDATE_ASSIGNEE, assignee.getId(), Timestamp.from(now), task.getId(), authorId, task.getVersion());
+        return applied(task, rows, now);
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<Task> tasks, Long assigneeId, Status status) {
+        Instant now = Instant.now();
+        int[] rows = jdbcTemplate.batchUpdate(UPDATE_STATUS, tasks.stream()
+                .map(task -> new Object[]{status.name(), Timestamp.from(now), task.getId(), assigneeId, task.getVersion()})
+                .toList());
+        return applied(tasks, rows, now);
+    }
+
+    @Override
+    public Set<Long> updateAssignees(List<Task> tasks, Long authorId, User assignee) {
+        Instant now = Instant.now();
+        int[] rows = jdbcTemplate.batchUpdate(UPDATE_ASSIGNEE, tasks.stream()
+                .map(task -> new Object[]{assignee.getId(), Timestamp.from(now), task.getId(), authorId, task.getVersion()})
+                .toList());
+        return applied(tasks, rows, now);
+    }
+
+    @Override
+    public void commentAdded(Long taskId, Instant at) {
+        jdbcTemplate.update(COMMENT_ADDED, Timestamp.from(at), Timestamp.from(at), taskId);
+    }
+
+    @Override
+    public void commentRemoved(Long taskId) {
+        jdbcTemplate.update(COMMENT_REMOVED, taskId);
+    }
+
+    @Override
+    public List<Long> findCommentActivityDrift() {
+        return jdbcTemplate.queryForList(COMMENT_ACTIVITY_DRIFT, Long.class);
+    }
+
+    @Override
+    public int reconcileCommentActivity(long fromId, long toId) {
+        return jdbcTemplate.update(RECONCILE_COMMENT_COUNT, fromId, toId)
+                + jdbcTemplate.update(RECONCILE_LAST_ACTIVITY, fromId, toId);
+    }
+
+    @Override
+    public void evictCached(Long taskId) {
+        entityManager.getEntityManagerFactory().getCache().evict(Task.class, taskId);
+    }
+
+    // Connector/J sends a rewritten update batch as one multi-statement query and still reports per-row counts
+    private Set<Long> applied(List<Task> tasks, int[] rows, Instant now) {
+        Set<Long> updated = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (applied(tasks.get(i), rows[i], now)) {
+                updated.add(tasks.get(i).getId());
+            }
+        }
+        return updated;
+    }
+
+    private boolean applied(Task task, int rows, Instant now) {
+        entityManager.detach(task);
+        if (rows == 0) {
+            // What was read is stale, possibly served from the cache, so the next read must go to the database
+            evictCached(task.getId());
+        }
+        if (rows != 1) {
+            return false;
+        }
+        task.setLastActivityAt(now);
+        return true;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.ChangeEvent;
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task and comment changes to server-sent event subscribers. Publishing only
+ * appends to each matching subscriber's bounded buffer; a small shared dispatcher pool writes the
+ * buffers out, so an open stream holds no thread while it waits. A subscriber whose buffer fills
+ * up loses what was queued and gets a resync event telling it to reload through the REST API.
+ * Writes block once a client stops reading, so each one runs on a small fixed writer pool and a
+ * subscriber whose write takes longer than the write timeout is dropped instead of holding up a
+ * dispatcher. The stuck write keeps its writer until it fails; while every writer is stuck,
+ * subscribers that need one are dropped too rather than waiting or adding threads.
+ */
+@Component
+public class ChangeFeed {
+
+    static final String RESYNC = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final ExecutorService writer;
+    private final Counter resyncs;
+    private final Counter timeouts;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final Duration writeTimeout;
+
+    public ChangeFeed(MeterRegistry meterRegistry,
+                      @Value("${changes.feed.buffer-size:256}") int bufferSize,
+                      @Value("${changes.feed.timeout:PT30M}") Duration timeout,
+                      @Value("${changes.feed.max-subscribers:10000}") int maxSubscribers,
+                      @Value("${changes.feed.dispatcher-threads:2}") int dispatcherThreads,
+                      @Value("${changes.feed.writer-threads:16}") int writerThreads,
+                      @Value("${changes.feed.write-timeout:PT5S}") Duration writeTimeout) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.writeTimeout = writeTimeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("change-feed-");
+        threadFactory.setDaemon(true);
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, threadFactory);
+        // No queue: a write either gets a writer right away or is rejected
+        CustomizableThreadFactory writerThreadFactory = new CustomizableThreadFactory("change-feed-writer-");
+        writerThreadFactory.setDaemon(true);
+        this.writer = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), writerThreadFactory);
+        this.resyncs = meterRegistry.counter("changes.feed.resyncs");
+        this.timeouts = meterRegistry.counter("changes.feed.write-timeouts");
+        meterRegistry.gauge("changes.feed.subscribers", subscribers, Set::size);
+    }
+
+    public void taskChanged(ChangeType type, Task task) {
+        taskChanged(type, task, null);
+    }
+
+    public void taskChanged(ChangeType type, Task task, Long previousAssigneeId) {
+        ChangeEvent event = new ChangeEvent();
+        event.setType(type);
+        event.setTaskId(task.getId());
+        event.setTask(TaskSummary.from(task));
+        event.setAuthorId(task.getAuthor() == null ? null : task.getAuthor().getId());
+        event.setAssigneeId(task.getAssignee() == null ? null : task.getAssignee().getId());
+        event.setPreviousAssigneeId(previousAssigneeId);
+        AfterCommit.run(() -> publish(event));
+    }
+
+    public void taskDeleted(Long taskId, TaskCounters.Snapshot before) {
+        ChangeEvent event = new ChangeEvent();
+        event.setType(ChangeType.TASK_DELETED);
+        event.setTaskId(taskId);
+        event.setAuthorId(before.authorId());
+        event.setAssigneeId(before.assigneeId());
+        AfterCommit.run(() -> publish(event));
+    }
+
+    public void commentChanged(ChangeType type, Comment comment, String authorEmail) {
+        ChangeEvent event = new ChangeEvent();
+        event.setType(type);
+        event.setTaskId(comment.getTask() == null ? null : comment.getTask().getId());
+        event.setCommentId(comment.getId());
+        if (type != ChangeType.COMMENT_DELETED) {
+            event.setComment(new CommentSummary(comment.getId(), comment.getText(), comment.getTextLength(),
+                    authorEmail, comment.getCreatedAt(), comment.getVersion()));
+        }
+        AfterCommit.run(() -> publish(event));
+    }
+
+    // Null filters match everything; author and assignee filters only select task events
+    public SseEmitter subscribe(Long authorId, Long assigneeId, Long taskId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change feed subscribers", 5);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, authorId, assigneeId, taskId);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    void publish(ChangeEvent event) {
+        event.setSequence(sequence.incrementAndGet());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // Also how closed connections are noticed: the write fails and the subscriber is dropped
+    @Scheduled(fixedDelayString = "${changes.feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat = true;
+            subscriber.schedule();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        writer.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long authorId;
+        private final Long assigneeId;
+        private final Long taskId;
+        private final BlockingQueue<ChangeEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeat;
+
+        Subscriber(SseEmitter emitter, Long authorId, Long assigneeId, Long taskId) {
+            this.emitter = emitter;
+            this.authorId = authorId;
+            this.assigneeId = assigneeId;
+            this.taskId = taskId;
+        }
+
+        boolean matches(ChangeEvent event) {
+            if (taskId != null && !taskId.equals(event.getTaskId())) {
+                return false;
+            }
+            boolean taskEvent = event.getCommentId() == null;
+            if (authorId != null && !(taskEvent && authorId.equals(event.getAuthorId()))) {
+                return false;
+            }
+            return assigneeId == null || taskEvent && (assigneeId.equals(event.getAssigneeId())
+                    || assigneeId.equals(event.getPreviousAssigneeId()));
+        }
+
+        void offer(ChangeEvent event) {
+            if (!buffer.offer(event)) {
+                overflowed = true;
+                buffer.clear();
+            }
+            schedule();
+        }
+
+        // At most one dispatcher thread drains a subscriber at a time, which keeps its events in order
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    buffer.clear();
+                    resyncs.increment();
+                    send(SseEmitter.event().name(RESYNC).data(sequence.get()));
+                }
+                ChangeEvent event;
+                while ((event = buffer.poll()) != null) {
+                    send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(event.getType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    heartbeat = false;
+                }
+                if (heartbeat) {
+                    heartbeat = false;
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (TimeoutException e) {
+                // The stuck write completes the emitter once it returns
+                subscribers.remove(this);
+                buffer.clear();
+            } catch (IOException | RuntimeException e) {
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+            }
+            if (subscribers.contains(this) && (overflowed || !buffer.isEmpty())) {
+                schedule();
+            }
+        }
+
+        // Rejected when every writer is taken, which drops the subscriber like a failed write
+        private void send(SseEmitter.SseEventBuilder event) throws IOException, TimeoutException {
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            AtomicBoolean awaited = new AtomicBoolean(true);
+            writer.execute(() -> {
+                try {
+                    emitter.send(event);
+                    write.complete(null);
+                } catch (Throwable e) {
+                    write.completeExceptionally(e);
+                }
+                // Completing waits for the write lock, so a write nobody waits for any more does it
+                if (!awaited.compareAndSet(true, false)) {
+                    emitter.completeWithError(new IOException("Change feed subscriber stopped reading"));
+                }
+            });
+            try {
+                write.get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                } else {
+                    timeouts.increment();
+                }
+                if (!awaited.compareAndSet(true, false)) {
+                    // The write finished just as the wait ended, so the lock is free
+                    emitter.completeWithError(e);
+                }
+                throw new TimeoutException("Change feed write did not finish within " + writeTimeout);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(emitter);
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.dto.EntityVersion;
 import com.example.taskmanagement.model.Comment;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentBodyRepository;
 import com.example.taskmanagement.repository.CommentRepository;
-import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,8 +47,21 @@ public class CommentService {
     private UserService userService;
 
     @Autowired
-    private UserRepository userRepository;
+    private CountCache countCache;
 
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private CommentBodyRepository commentBodyRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${comments.text.max-length:1000000}")
+    private int maxTextLength;
+
+    @Transactional
     public ResponseEntity<?> createComment(Comment comment, BindingResult bindingResult, UserDetails userDetails) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
@@ -41,7 +69,9 @@ public class CommentService {
                     .collect(Collectors.joining(", "));
             return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
         }
-
+        if (comment.getText().length() > maxTextLength) {
+            return new ResponseEntity<>(tooLong(), HttpStatus.BAD_REQUEST);
+        }
 
         ResponseEntity<User> userResponse = userService.getUserByEmail(userDetails.getUsername());
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
@@ -50,20 +80,99 @@ public class CommentService {
         User currentUser = userResponse.getBody();
 
         comment.setAuthor(currentUser);
-        Comment createdComment = commentRepository.save(comment);
+        if (comment.getTask() != null) {
+            // The body only carries the task id, attach the managed task so its version is known
+            Optional<Task> task = taskService.getTaskById(comment.getTask().getId());
+            if (task.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            comment.setTask(task.get());
+        }
+        String text = comment.getText();
+        CommentText.apply(comment, text);
+        Comment createdComment;
+        if (CommentText.isLong(text)) {
+            // The body row references the comment, which has to be inserted first
+            createdComment = commentRepository.saveAndFlush(comment);
+            commentBodyRepository.save(createdComment.getId(), CommentText.compress(text));
+        } else {
+            createdComment = commentRepository.save(comment);
+        }
+        if (createdComment.getTask() != null) {
+            countCache.evict(CountCache.commentsByTask(createdComment.getTask().getId()));
+            taskService.commentAdded(createdComment.getTask().getId(), Instant.now());
+        }
+        changeFeed.commentChanged(ChangeType.COMMENT_CREATED, createdComment, currentUser.getEmail());
         return new ResponseEntity<>(createdComment, HttpStatus.CREATED);
     }
 
-    public Optional<Page<Comment>> getCommentsByTask(Long taskId, Pageable pageable) {
-        Optional<Task> task = taskService.getTaskById(taskId);
-        return task.map(t -> commentRepository.findByTask(t, pageable));
+    @Transactional(readOnly = true)
+    public Optional<Slice<CommentSummary>> getCommentsByTask(Long taskId, Pageable pageable, boolean withCount) {
+        if (!taskService.existsById(taskId)) {
+            return Optional.empty();
+        }
+        Slice<CommentSummary> comments = commentRepository.findSummarySliceByTaskId(taskId, pageable);
+        if (withCount) {
+            return Optional.of(countCache.toPage(comments, CountCache.commentsByTask(taskId),
+                    () -> commentRepository.countByTaskId(taskId)));
+        }
+        return Optional.of(comments);
+    }
+
+    /**
+     * Tag for a page of comments, read without loading the comments themselves, for checking a
+     * conditional request. Matches {@link #getCommentsPageTag(Slice)} for the page it would return.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getCommentsPageTag(Long taskId, Pageable pageable, boolean withCount) {
+        if (!taskService.existsById(taskId)) {
+            return Optional.empty();
+        }
+        Slice<EntityVersion> versions = commentRepository.findVersionSliceByTaskId(taskId, pageable);
+        if (withCount) {
+            versions = countCache.toPage(versions, CountCache.commentsByTask(taskId),
+                    () -> commentRepository.countByTaskId(taskId));
+        }
+        return Optional.of(pageTag(versions, EntityVersion::getId, EntityVersion::getVersion));
+    }
+
+    public String getCommentsPageTag(Slice<CommentSummary> comments) {
+        return pageTag(comments, CommentSummary::getId, CommentSummary::getVersion);
+    }
+
+    // The ids and versions of the rows, plus whatever else the page body shows: whether a next
+    // page exists and, for a counted page, the total
+    private static <T> String pageTag(Slice<T> rows, Function<T, Long> id, Function<T, Long> version) {
+        StringBuilder state = new StringBuilder();
+        for (T row : rows) {
+            state.append(id.apply(row)).append(':').append(version.apply(row)).append(',');
+        }
+        state.append(rows.hasNext());
+        if (rows instanceof Page<T> page) {
+            state.append('/').append(page.getTotalElements());
+        }
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Optional<Long> getCommentVersion(Long id) {
+        return commentRepository.findVersionById(id);
     }
 
     public Optional<Comment> getCommentById(Long id) {
         return commentRepository.findById(id);
     }
 
+    // Full text as UTF-8, copied straight from the decompressing stream for long comments
+    @Transactional(readOnly = true)
+    public void writeCommentText(Comment comment, OutputStream out) throws IOException {
+        if (!CommentText.isTruncated(comment)
+                || !commentBodyRepository.read(comment.getId(), body -> CommentText.decompress(body, out))) {
+            out.write(comment.getText().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
 
+    @Transactional
     public ResponseEntity<?> updateComment(Long id, Comment newComment, BindingResult bindingResult, UserDetails userDetails) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
@@ -71,6 +180,9 @@ public class CommentService {
                     .collect(Collectors.joining(", "));
             return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
         }
+        if (newComment.getText().length() > maxTextLength) {
+            return new ResponseEntity<>(tooLong(), HttpStatus.BAD_REQUEST);
+        }
 
         ResponseEntity<User> userResponse = userService.getUserByEmail(userDetails.getUsername());
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
@@ -82,8 +194,19 @@ public class CommentService {
         if (existingCommentOpt.isPresent()) {
             Comment existingComment = existingCommentOpt.get();
             if (existingComment.getAuthor() != null && existingComment.getAuthor().equals(currentUser)) {
-                existingComment.setText(newComment.getText());
+                boolean hadBody = CommentText.isTruncated(existingComment);
+                CommentText.apply(existingComment, newComment.getText());
+                if (CommentText.isLong(newComment.getText())) {
+                    commentBodyRepository.save(id, CommentText.compress(newComment.getText()));
+                } else if (hadBody) {
+                    commentBodyRepository.delete(id);
+                }
+                if (hadBody || CommentText.isLong(newComment.getText())) {
+                    // The version is the text's ETag, and an edit past the preview leaves the entity unchanged
+                    entityManager.lock(existingComment, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                }
                 Comment updatedComment = commentRepository.save(existingComment);
+                changeFeed.commentChanged(ChangeType.COMMENT_UPDATED, updatedComment, currentUser.getEmail());
                 return new ResponseEntity<>(updatedComment, HttpStatus.OK);
             } else {
                 throw new AccessDeniedException("User is not the author of this comment");
@@ -93,15 +216,24 @@ public class CommentService {
     }
 
 
+    @Transactional
     public ResponseEntity<Void> deleteComment(Long id, UserDetails userDetails) {
-        User currentUser = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        ResponseEntity<User> userResponse = userService.getUserByEmail(userDetails.getUsername());
+        if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        User currentUser = userResponse.getBody();
 
         Optional<Comment> existingCommentOpt = commentRepository.findById(id);
         if (existingCommentOpt.isPresent()) {
             Comment existingComment = existingCommentOpt.get();
             if (existingComment.getAuthor() != null && existingComment.getAuthor().equals(currentUser)) {
                 commentRepository.deleteById(id);
+                if (existingComment.getTask() != null) {
+                    countCache.evict(CountCache.commentsByTask(existingComment.getTask().getId()));
+                    taskService.commentRemoved(existingComment.getTask().getId());
+                }
+                changeFeed.commentChanged(ChangeType.COMMENT_DELETED, existingComment, currentUser.getEmail());
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             } else {
                 throw new AccessDeniedException("User is not the author of this comment");
@@ -109,4 +241,8 @@ public class CommentService {
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
+
+    private String tooLong() {
+        return "Text should not exceed " + maxTextLength + " characters";
+    }
 }
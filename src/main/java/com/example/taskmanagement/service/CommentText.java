@@ -0,0 +1,60 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Comment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Splits comment text into the inline preview kept on the comment row and, past
+ * {@link Comment#PREVIEW_LENGTH}, the gzip-compressed UTF-8 body stored in comment_body.
+ */
+final class CommentText {
+
+    private CommentText() {
+    }
+
+    static void apply(Comment comment, String text) {
+        comment.setTextLength(text.length());
+        comment.setText(isLong(text) ? preview(text) : text);
+    }
+
+    static boolean isLong(String text) {
+        return text.length() > Comment.PREVIEW_LENGTH;
+    }
+
+    static boolean isTruncated(Comment comment) {
+        return comment.getTextLength() > comment.getText().length();
+    }
+
+    static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void decompress(InputStream compressed, OutputStream out) throws IOException {
+        try (InputStream in = new GZIPInputStream(compressed)) {
+            in.transferTo(out);
+        }
+    }
+
+    // Never ends on the first half of a surrogate pair
+    private static String preview(String text) {
+        int end = Comment.PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+}
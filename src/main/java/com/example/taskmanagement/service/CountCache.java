@@ -0,0 +1,55 @@
+package com.example.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived totals for paginated listings, so a client asking for page totals pays for the
+ * COUNT query at most once per TTL. Writes that change a listing evict its key after commit.
+ */
+@Component
+public class CountCache {
+
+    private final Cache<String, Long> counts;
+
+    public CountCache(MeterRegistry meterRegistry,
+                      @Value("${pagination.count-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${pagination.count-cache.ttl:PT10S}") Duration ttl) {
+        this.counts = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "pagination.counts");
+    }
+
+    public static String tasksByAuthor(Long authorId) {
+        return "tasks:author:" + authorId;
+    }
+
+    public static String tasksByAssignee(Long assigneeId) {
+        return "tasks:assignee:" + assigneeId;
+    }
+
+    public static String commentsByTask(Long taskId) {
+        return "comments:task:" + taskId;
+    }
+
+    // A slice that is not followed by more rows already tells us the total, the count is only needed otherwise
+    public <T> Page<T> toPage(Slice<T> slice, String key, LongSupplier count) {
+        long offset = slice.getPageable().getOffset();
+        long total = !slice.hasNext() && (slice.hasContent() || offset == 0)
+                ? offset + slice.getNumberOfElements()
+                : counts.get(key, k -> count.getAsLong());
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    public void evict(String key) {
+        AfterCommit.run(() -> counts.invalidate(key));
+    }
+}
@@ -1,47 +1,131 @@
 package com.example.taskmanagement.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
     private final SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+    // JwtParser is immutable and thread-safe once built
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(secretKey)
+            .build();
+
+    // Tokens that already passed signature verification, keyed by SHA-256 digest and kept until they expire
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken verified, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verified.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Verifies the token and builds the principal from its claims, without touching the database.
+     * Authorities come from the signed {@code roles} claim.
+     */
+    public Optional<UserDetails> verifyToken(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null && verified.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(verified.principal());
+        }
+
+        Claims claims;
+        try {
+            // Signature and expiration are both checked by the parser
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        UserDetails principal = User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(rolesOf(claims))
+                .build();
+        verifiedTokens.put(digest, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        return Optional.of(principal);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    public String extractEmail(String token) {
+        return verifyToken(token).map(UserDetails::getUsername).orElse(null);
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return verifyToken(token)
+                .map(principal -> principal.getUsername().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", userDetails.getAuthorities())
+                .claim("roles", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 часов
                 .signWith(secretKey)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private String[] rolesOf(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof List<?> list)) {
+            return new String[0];
+        }
+        return list.stream().map(String::valueOf).toArray(String[]::new);
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(UserDetails principal, long expiresAt) {
     }
 }
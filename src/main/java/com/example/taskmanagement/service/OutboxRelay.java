@@ -0,0 +1,117 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.TaskOutboxRepository;
+import com.example.taskmanagement.repository.TaskOutboxRepository.OutboxEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains task_outbox to the {@link OutboxSink} in id order, one batch at a time: the batch is
+ * claimed in a short transaction, published outside it and then deleted, so a slow sink holds
+ * no row locks. A failed publish releases the claim and leaves the batch for the next attempt.
+ * Failures back off exponentially; while the relay keeps up, each poll drains full batches
+ * until it catches up.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.relay.claim-timeout:PT1M}")
+    private Duration claimTimeout;
+
+    @Value("${outbox.relay.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    @Value("${outbox.relay.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    private int failures;
+    private Instant retryAt = Instant.MIN;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gauge("outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+    public synchronized void relay() {
+        if (Instant.now().isBefore(retryAt)) {
+            return;
+        }
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                backOff(e);
+                return;
+            }
+            failures = 0;
+            if (relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new TransactionTemplate(transactionManager)
+                .execute(status -> outboxRepository.claimOldest(batchSize, now, claimTimeout));
+        // Age of the oldest undelivered event, the delay a consumer currently sees
+        lagMillis.set(events.isEmpty() ? 0 : Duration.between(events.get(0).createdAt(), now).toMillis());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            sink.publish(events);
+        } catch (RuntimeException e) {
+            outboxRepository.release(events);
+            throw e;
+        }
+        sample.stop(meterRegistry.timer("outbox.relay.publish"));
+        outboxRepository.delete(events);
+        meterRegistry.counter("outbox.relay.events").increment(events.size());
+        return events.size();
+    }
+
+    private void backOff(RuntimeException e) {
+        meterRegistry.counter("outbox.relay.failures", "exception", e.getClass().getSimpleName()).increment();
+        long multiplier = 1L << Math.min(failures, 20);
+        failures++;
+        Duration delay = initialBackoff.multipliedBy(multiplier);
+        retryAt = Instant.now().plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+}
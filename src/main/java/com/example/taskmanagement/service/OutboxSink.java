@@ -0,0 +1,15 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.TaskOutboxRepository.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed task events. Events arrive in outbox order, which keeps every task's
+ * events in the order they committed; a batch counts as delivered when publish returns, and an
+ * exception makes the relay retry the same batch later, so delivery is at least once.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
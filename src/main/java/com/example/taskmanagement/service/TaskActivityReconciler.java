@@ -0,0 +1,58 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Repairs task comment counts and last-activity times that drifted from the comment table,
+ * for instance through comments removed outside {@link CommentService}. The drifted tasks are
+ * found with one read and repaired a chunk at a time, each chunk an id range updated in its
+ * own short transaction, so no run holds locks across the whole task table. Repaired tasks are
+ * dropped from the cache and the search index is refreshed once at the end.
+ */
+@Component
+public class TaskActivityReconciler {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasks.activity.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${tasks.activity.reconcile-interval:PT1H}",
+            initialDelayString = "${tasks.activity.reconcile-interval:PT1H}")
+    public void reconcile() {
+        List<Long> drifted = taskRepository.findCommentActivityDrift();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int corrected = 0;
+        for (int from = 0; from < drifted.size(); from += chunkSize) {
+            List<Long> chunk = drifted.subList(from, Math.min(from + chunkSize, drifted.size()));
+            // The updates re-check the drift, so tasks in the range that are in line stay untouched
+            Integer rows = transactionTemplate.execute(status ->
+                    taskRepository.reconcileCommentActivity(chunk.get(0), chunk.get(chunk.size() - 1)));
+            chunk.forEach(taskRepository::evictCached);
+            corrected += rows;
+        }
+        meterRegistry.counter("tasks.activity.corrections").increment(corrected);
+        if (corrected > 0) {
+            taskSearchIndex.rebuild();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskCounts;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskCounterRepository;
+import com.example.taskmanagement.repository.TaskCounterRepository.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts per user, relation (author or assignee), status and priority. Every change is
+ * written to the task_counter table inside the caller's transaction and applied to an in-memory
+ * view once it commits, so reads never touch the database. A scheduled job recounts from the
+ * task table, corrects the counters that have drifted and then brings the view back in line
+ * with the table.
+ */
+@Component
+public class TaskCounters {
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Map<Key, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public static Snapshot snapshot(Task task) {
+        return new Snapshot(task.getAuthor() == null ? null : task.getAuthor().getId(),
+                task.getAssignee() == null ? null : task.getAssignee().getId(),
+                task.getStatus(), task.getPriority());
+    }
+
+    public void created(Collection<Task> tasks) {
+        Map<Key, Long> deltas = new HashMap<>();
+        for (Task task : tasks) {
+            addDeltas(deltas, snapshot(task), 1);
+        }
+        apply(deltas);
+    }
+
+    public void changed(Snapshot before, Task after) {
+        Map<Key, Long> deltas = new HashMap<>();
+        addDeltas(deltas, before, -1);
+        addDeltas(deltas, snapshot(after), 1);
+        apply(deltas);
+    }
+
+    public void changedAll(List<Snapshot> before, List<Task> after) {
+        Map<Key, Long> deltas = new HashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            addDeltas(deltas, before.get(i), -1);
+            addDeltas(deltas, snapshot(after.get(i)), 1);
+        }
+        apply(deltas);
+    }
+
+    public void deleted(Snapshot before) {
+        Map<Key, Long> deltas = new HashMap<>();
+        addDeltas(deltas, before, -1);
+        apply(deltas);
+    }
+
+    public TaskCounts counts(long userId, String relation) {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Status status : Status.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        long total = 0;
+        Map<Key, LongAdder> current = counts;
+        for (Status status : Status.values()) {
+            for (Priority priority : Priority.values()) {
+                LongAdder adder = current.get(new Key(userId, relation, status, priority));
+                long count = adder == null ? 0 : adder.sum();
+                byStatus.merge(status, count, Long::sum);
+                byPriority.merge(priority, count, Long::sum);
+                total += count;
+            }
+        }
+        return new TaskCounts(total, byStatus, byPriority);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        counts = toView(counterRepository.findAll());
+    }
+
+    // Reads the counters and recounts them from the same snapshot, without locking either table,
+    // then sets each drifted counter to its recount only if no task change has moved it since.
+    // A counter that moved is left for the next run.
+    @Scheduled(fixedDelayString = "${tasks.counters.reconcile-interval:PT10M}",
+            initialDelayString = "${tasks.counters.reconcile-interval:PT10M}")
+    public void reconcile() {
+        Map<Key, Long> stored = new HashMap<>();
+        Map<Key, Long> actual = new HashMap<>();
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.executeWithoutResult(status -> {
+            counterRepository.findAll().forEach(counter -> stored.put(Key.of(counter), counter.count()));
+            counterRepository.countFromTasks().forEach(counter -> actual.put(Key.of(counter), counter.count()));
+        });
+        Set<Key> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        int corrections = 0;
+        for (Key key : keys) {
+            long seen = stored.getOrDefault(key, 0L);
+            long recounted = actual.getOrDefault(key, 0L);
+            if (seen != recounted && counterRepository.correct(key.toCounter(seen), recounted)) {
+                corrections++;
+            }
+        }
+        meterRegistry.counter("tasks.counters.corrections").increment(corrections);
+        resyncView();
+    }
+
+    // A change that committed but has not reached the view yet looks like drift for a moment, so
+    // only a difference that two reads of the table agree on is corrected
+    private void resyncView() {
+        Map<Key, Long> drift = viewDrift();
+        if (drift.isEmpty()) {
+            return;
+        }
+        Map<Key, Long> again = viewDrift();
+        drift.entrySet().removeIf(entry -> !entry.getValue().equals(again.get(entry.getKey())));
+        Map<Key, LongAdder> current = counts;
+        drift.forEach((key, delta) -> current.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+        meterRegistry.counter("tasks.counters.view-corrections").increment(drift.size());
+    }
+
+    private Map<Key, Long> viewDrift() {
+        Map<Key, Long> drift = new HashMap<>();
+        for (Counter stored : counterRepository.findAll()) {
+            drift.merge(Key.of(stored), stored.count(), Long::sum);
+        }
+        counts.forEach((key, adder) -> drift.merge(key, -adder.sum(), Long::sum));
+        drift.values().removeIf(delta -> delta == 0);
+        return drift;
+    }
+
+    private void addDeltas(Map<Key, Long> deltas, Snapshot task, long delta) {
+        if (task.authorId() != null) {
+            deltas.merge(new Key(task.authorId(), TaskCounterRepository.AUTHOR, task.status(), task.priority()), delta, Long::sum);
+        }
+        if (task.assigneeId() != null) {
+            deltas.merge(new Key(task.assigneeId(), TaskCounterRepository.ASSIGNEE, task.status(), task.priority()), delta, Long::sum);
+        }
+    }
+
+    private void apply(Map<Key, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Counter> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(key.toCounter(delta)));
+        counterRepository.adjust(rows);
+        AfterCommit.run(() -> {
+            Map<Key, LongAdder> current = counts;
+            deltas.forEach((key, delta) -> current.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+        });
+    }
+
+    private static Map<Key, LongAdder> toView(List<Counter> counters) {
+        Map<Key, LongAdder> view = new ConcurrentHashMap<>();
+        for (Counter counter : counters) {
+            LongAdder adder = new LongAdder();
+            adder.add(counter.count());
+            view.put(Key.of(counter), adder);
+        }
+        return view;
+    }
+
+    public record Snapshot(Long authorId, Long assigneeId, Status status, Priority priority) {
+    }
+
+    private record Key(long userId, String relation, Status status, Priority priority) {
+
+        static Key of(Counter counter) {
+            return new Key(counter.userId(), counter.relation(), counter.status(), counter.priority());
+        }
+
+        Counter toCounter(long count) {
+            return new Counter(userId, relation, status, priority, count);
+        }
+    }
+}
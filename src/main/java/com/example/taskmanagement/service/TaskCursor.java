@@ -0,0 +1,61 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Priority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset page over tasks. Encoded for clients as an opaque url-safe string,
+ * either {@code id:<lastId>} or {@code priority:<PRIORITY>:<lastId>}.
+ */
+public class TaskCursor {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_PRIORITY = "priority";
+
+    private final String sort;
+    private final Priority priority;
+    private final long lastId;
+
+    public TaskCursor(String sort, Priority priority, long lastId) {
+        this.sort = sort;
+        this.priority = priority;
+        this.lastId = lastId;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public String encode() {
+        String raw = SORT_PRIORITY.equals(sort)
+                ? SORT_PRIORITY + ":" + priority.name() + ":" + lastId
+                : SORT_ID + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 2 && SORT_ID.equals(parts[0])) {
+                return new TaskCursor(SORT_ID, null, Long.parseLong(parts[1]));
+            }
+            if (parts.length == 3 && SORT_PRIORITY.equals(parts[0])) {
+                return new TaskCursor(SORT_PRIORITY, Priority.valueOf(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through, NumberFormatException is an IllegalArgumentException too
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentBodyRepository;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every task followed by its comments as NDJSON, one object per line.
+ * Both tables are read through forward-only cursors ordered by task id and merged,
+ * so memory stays flat however many rows there are.
+ */
+@Service
+public class TaskExportService {
+
+    static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentBodyRepository commentBodyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The cache mode hints on the streaming queries only hold while the cursor opens, and rows are
+    // loaded as it is read, so the session itself skips the second-level cache until the export ends
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream out) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            writeAll(out);
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private void writeAll(OutputStream out) throws IOException {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderById();
+             Stream<Comment> comments = commentRepository.streamAllOrderByTaskId();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<Comment> commentIterator = comments.iterator();
+            Comment pending = commentIterator.hasNext() ? commentIterator.next() : null;
+            long written = 0;
+
+            for (Iterator<Task> taskIterator = tasks.iterator(); taskIterator.hasNext(); ) {
+                Task task = taskIterator.next();
+                writeTask(generator, task);
+                written++;
+
+                while (pending != null && pending.getTask().getId() <= task.getId()) {
+                    if (pending.getTask().getId().equals(task.getId())) {
+                        writeComment(generator, pending);
+                        written++;
+                    }
+                    entityManager.detach(pending);
+                    pending = commentIterator.hasNext() ? commentIterator.next() : null;
+                }
+                entityManager.detach(task);
+
+                if (written >= FLUSH_INTERVAL) {
+                    generator.flush();
+                    // Users pulled in by the fetch joins are not detached with their task
+                    entityManager.clear();
+                    written = 0;
+                }
+            }
+            generator.flush();
+        }
+    }
+
+    private void writeTask(JsonGenerator generator, Task task) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "task");
+        generator.writeNumberField("id", task.getId());
+        generator.writeStringField("title", task.getTitle());
+        generator.writeStringField("description", task.getDescription());
+        generator.writeStringField("status", task.getStatus() == null ? null : task.getStatus().name());
+        generator.writeStringField("priority", task.getPriority() == null ? null : task.getPriority().name());
+        generator.writeStringField("authorEmail", emailOf(task.getAuthor()));
+        generator.writeStringField("assigneeEmail", emailOf(task.getAssignee()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeComment(JsonGenerator generator, Comment comment) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "comment");
+        generator.writeNumberField("id", comment.getId());
+        generator.writeNumberField("taskId", comment.getTask().getId());
+        generator.writeStringField("authorEmail", emailOf(comment.getAuthor()));
+        generator.writeStringField("text", fullText(comment));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    // Exports carry whole texts, so long comments cost one body lookup each
+    private String fullText(Comment comment) throws IOException {
+        if (!CommentText.isTruncated(comment)) {
+            return comment.getText();
+        }
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        if (!commentBodyRepository.read(comment.getId(), body -> CommentText.decompress(body, text))) {
+            return comment.getText();
+        }
+        return text.toString(StandardCharsets.UTF_8);
+    }
+
+    private String emailOf(User user) {
+        return user == null ? null : user.getEmail();
+    }
+}
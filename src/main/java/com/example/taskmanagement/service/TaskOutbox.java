@@ -0,0 +1,56 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskOutboxRepository;
+import com.example.taskmanagement.repository.TaskOutboxRepository.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records task changes for downstream delivery. Rows are written inside the caller's
+ * transaction and only sent by {@link OutboxRelay} after it commits, so consumers never see a
+ * change that rolled back and the request never waits on the downstream system.
+ */
+@Component
+public class TaskOutbox {
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void taskChanged(ChangeType type, Task task) {
+        tasksChanged(type, List.of(task));
+    }
+
+    public void tasksChanged(ChangeType type, List<Task> tasks) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            events.add(new OutboxEvent(null, task.getId(), type.name(), toJson(TaskSummary.from(task)), now));
+        }
+        outboxRepository.append(events);
+    }
+
+    public void taskDeleted(Long taskId) {
+        outboxRepository.append(List.of(new OutboxEvent(null, taskId, ChangeType.TASK_DELETED.name(), null, Instant.now())));
+    }
+
+    private String toJson(TaskSummary task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ * Built from the database once at startup and then kept current by {@link TaskService}.
+ * Every query term also matches index terms it is a prefix of, at a reduced weight.
+ *
+ * <p>A rebuild fills a fresh index from a snapshot while changes keep arriving, then swaps it in.
+ * Tasks changed during the rebuild keep their live entry, since the snapshot may predate the change.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${tasks.search.max-results:1000}")
+    private int maxResults = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Ids changed while a rebuild reads its snapshot, null when no rebuild is running
+    private Set<Long> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt = null;
+        try {
+            rebuilt = readSnapshot();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (Long taskId : changedDuringRebuild) {
+                        rebuilt.remove(taskId);
+                        Document live = index.documents.get(taskId);
+                        if (live != null) {
+                            rebuilt.add(live);
+                        }
+                    }
+                    index = rebuilt;
+                }
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Index changes made inside a transaction only become visible once it commits
+    public void onSaved(Task task) {
+        TaskSummary summary = TaskSummary.from(task);
+        AfterCommit.run(() -> put(summary));
+    }
+
+    public void onDeleted(Long taskId) {
+        AfterCommit.run(() -> remove(taskId));
+    }
+
+    // Comment activity changes no indexed text, so only the stored summary is replaced
+    public void onCommentsChanged(Long taskId, int delta, Instant at) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Document document = index.documents.get(taskId);
+                if (document != null) {
+                    TaskSummary task = document.task();
+                    Instant lastActivityAt = task.getLastActivityAt();
+                    if (at != null && (lastActivityAt == null || lastActivityAt.isBefore(at))) {
+                        lastActivityAt = at;
+                    }
+                    TaskSummary updated = new TaskSummary(task.getId(), task.getTitle(), task.getDescription(),
+                            task.getStatus(), task.getPriority(), task.getAuthorEmail(), task.getAssigneeEmail(),
+                            Math.max(0, task.getCommentCount() + delta), lastActivityAt);
+                    index.documents.put(taskId, new Document(updated, document.length(), document.frequencies()));
+                    changed(taskId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void put(TaskSummary task) {
+        Document document = document(task);
+        lock.writeLock().lock();
+        try {
+            index.remove(task.getId());
+            index.add(document);
+            changed(task.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(taskId);
+            changed(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<TaskSummary> search(String query, Pageable pageable) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Document> documents = index.documents;
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return Page.empty(pageable);
+            }
+            double averageLength = Math.max(1.0, (double) index.totalLength / documentCount);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryTerm : terms) {
+                for (Map.Entry<String, Map<Long, Integer>> entry
+                        : index.postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).entrySet()) {
+                    double weight = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    Map<Long, Integer> matches = entry.getValue();
+                    double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                    matches.forEach((taskId, frequency) -> {
+                        double lengthNorm = 1 - B + B * documents.get(taskId).length() / averageLength;
+                        double score = weight * idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                        scores.merge(taskId, score, Double::sum);
+                    });
+                }
+            }
+
+            int total = Math.min(scores.size(), maxResults);
+            long offset = pageable.getOffset();
+            if (offset >= total) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+            int wanted = (int) Math.min(offset + pageable.getPageSize(), total);
+
+            // Keep only the best `wanted` hits instead of sorting every match
+            Comparator<Map.Entry<Long, Double>> byRank = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(wanted + 1, byRank);
+            for (Map.Entry<Long, Double> hit : scores.entrySet()) {
+                top.offer(hit);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(byRank.reversed());
+
+            List<TaskSummary> content = ranked.subList((int) offset, ranked.size()).stream()
+                    .map(hit -> documents.get(hit.getKey()).task())
+                    .toList();
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private Index readSnapshot() {
+        Index snapshot = new Index();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<TaskSummary> tasks = taskRepository.streamSummariesOrderById()) {
+                tasks.forEach(task -> snapshot.add(document(task)));
+            }
+        });
+        return snapshot;
+    }
+
+    private static Document document(TaskSummary task) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, task.getTitle(), TITLE_WEIGHT);
+        addTerms(frequencies, task.getDescription(), 1);
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        return new Document(task, length, frequencies);
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void changed(Long taskId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(taskId);
+        }
+    }
+
+    private static class Index {
+
+        // term -> (task id -> weighted term frequency); sorted so prefixes are a range scan
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private long totalLength;
+
+        void add(Document document) {
+            Long taskId = document.task().getId();
+            document.frequencies().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, frequency));
+            documents.put(taskId, document);
+            totalLength += document.length();
+        }
+
+        void remove(Long taskId) {
+            Document existing = documents.remove(taskId);
+            if (existing == null) {
+                return;
+            }
+            totalLength -= existing.length();
+            for (String term : existing.frequencies().keySet()) {
+                Map<Long, Integer> matches = postings.get(term);
+                matches.remove(taskId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record Document(TaskSummary task, int length, Map<String, Integer> frequencies) {
+    }
+}
@@ -1,35 +1,94 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.BulkUpdateResult;
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
 import com.example.taskmanagement.model.Role;
 import com.example.taskmanagement.model.Status;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskCounterRepository;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskSpecifications;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.security.Principal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${tasks.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Transactional
     public ResponseEntity<?> createTask(Task task, BindingResult bindingResult, Principal principal) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
@@ -45,13 +104,84 @@ public class TaskService {
         User author = userResponse.getBody();
 
         task.setAuthor(author);
+        task.setLastActivityAt(Instant.now());
         Task createdTask = taskRepository.save(task);
+        taskCounters.created(List.of(createdTask));
+        evictCounts(TaskCounters.snapshot(createdTask));
+        taskSearchIndex.onSaved(createdTask);
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, createdTask);
+        taskOutbox.taskChanged(ChangeType.TASK_CREATED, createdTask);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @Transactional
+    public ResponseEntity<?> createTasks(List<Task> tasks, Principal principal) {
+        if (tasks == null || tasks.isEmpty()) {
+            return new ResponseEntity<>("No tasks to create", HttpStatus.BAD_REQUEST);
+        }
+        if (tasks.size() > maxBatchSize) {
+            return new ResponseEntity<>("At most " + maxBatchSize + " tasks can be created at once", HttpStatus.BAD_REQUEST);
+        }
+
+        ResponseEntity<User> userResponse = userService.getUserByEmail(principal.getName());
+        if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            throw new RuntimeException("User not found");
+        }
+        User author = userResponse.getBody();
+
+        Instant now = Instant.now();
+        for (Task task : tasks) {
+            task.setId(null);
+            task.setAuthor(author);
+            task.setLastActivityAt(now);
+        }
+        String errors = tasks.stream()
+                .flatMap(task -> validator.validate(task).stream())
+                .map(ConstraintViolation::getMessage)
+                .distinct()
+                .collect(Collectors.joining(", "));
+        if (!errors.isEmpty()) {
+            return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+        }
+
+        // Ids come from the pooled sequence, so these inserts are sent as JDBC batches
+        List<Task> createdTasks = taskRepository.saveAll(tasks);
+        taskCounters.created(createdTasks);
+        createdTasks.forEach(createdTask -> evictCounts(TaskCounters.snapshot(createdTask)));
+        createdTasks.forEach(taskSearchIndex::onSaved);
+        createdTasks.forEach(createdTask -> changeFeed.taskChanged(ChangeType.TASK_CREATED, createdTask));
+        taskOutbox.tasksChanged(ChangeType.TASK_CREATED, createdTasks);
+        return new ResponseEntity<>(createdTasks, HttpStatus.CREATED);
+    }
+
+    // Comment side of the task listing metadata, run inside the comment change's transaction
+    public void commentAdded(Long taskId, Instant at) {
+        taskRepository.commentAdded(taskId, at);
+        taskSearchIndex.onCommentsChanged(taskId, 1, at);
+        AfterCommit.run(() -> taskRepository.evictCached(taskId));
+    }
+
+    public void commentRemoved(Long taskId) {
+        taskRepository.commentRemoved(taskId);
+        taskSearchIndex.onCommentsChanged(taskId, -1, null);
+        AfterCommit.run(() -> taskRepository.evictCached(taskId));
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Task> getTaskById(Long taskId) {
         return taskRepository.findById(taskId);
     }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> getTaskVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId);
+    }
+
+    public boolean existsById(Long taskId) {
+        return taskRepository.existsById(taskId);
+    }
+
+    @Transactional
     public ResponseEntity<?> updateTask(Long id, Task task, BindingResult bindingResult, Principal principal) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
@@ -68,14 +198,25 @@ public class TaskService {
 
         Optional<Task> existingTaskOpt = taskRepository.findById(id);
         if (existingTaskOpt.isPresent() && existingTaskOpt.get().getAuthor().equals(currentUser)) {
+            TaskCounters.Snapshot before = TaskCounters.snapshot(existingTaskOpt.get());
             task.setId(id);
+            task.setVersion(existingTaskOpt.get().getVersion());
+            task.setCommentCount(existingTaskOpt.get().getCommentCount());
+            task.setLastActivityAt(Instant.now());
             task.setAuthor(currentUser);
             Task updatedTask = taskRepository.save(task);
+            taskCounters.changed(before, updatedTask);
+            evictCounts(before);
+            evictCounts(TaskCounters.snapshot(updatedTask));
+            taskSearchIndex.onSaved(updatedTask);
+            changeFeed.taskChanged(ChangeType.TASK_UPDATED, updatedTask, before.assigneeId());
+            taskOutbox.taskChanged(ChangeType.TASK_UPDATED, updatedTask);
             return new ResponseEntity<>(updatedTask, HttpStatus.OK);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    @Transactional
     public ResponseEntity<Void> deleteTask(Long id, Principal principal) {
         ResponseEntity<User> userResponse = userService.getUserByEmail(principal.getName());
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
@@ -85,7 +226,13 @@ public class TaskService {
 
         Optional<Task> existingTaskOpt = taskRepository.findById(id);
         if (existingTaskOpt.isPresent() && existingTaskOpt.get().getAuthor().equals(currentUser)) {
+            TaskCounters.Snapshot before = TaskCounters.snapshot(existingTaskOpt.get());
             taskRepository.deleteById(id);
+            taskCounters.deleted(before);
+            evictCounts(before);
+            taskSearchIndex.onDeleted(id);
+            changeFeed.taskDeleted(id, before);
+            taskOutbox.taskDeleted(id);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -98,63 +245,257 @@ public class TaskService {
         }
         User currentUser = userResponse.getBody();
 
-        Optional<Task> optionalTask = taskRepository.findById(taskId);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            if (task.getAssignee() != null && task.getAssignee().equals(currentUser)) {
-                task.setStatus(status);
-                Task updatedTask = taskRepository.save(task);
-                return new ResponseEntity<>(updatedTask, HttpStatus.OK);
-            } else {
-                throw new AccessDeniedException("User is not the assignee of this task");
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            ResponseEntity<Task> response = inNewAttempt(taskId, () -> {
+                Optional<Task> optionalTask = taskRepository.findById(taskId);
+                if (optionalTask.isEmpty()) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                Task task = optionalTask.get();
+                if (task.getAssignee() == null || !task.getAssignee().equals(currentUser)) {
+                    throw new AccessDeniedException("User is not the assignee of this task");
+                }
+                TaskCounters.Snapshot before = TaskCounters.snapshot(task);
+                if (taskRepository.updateStatus(task, currentUser.getId(), status)) {
+                    task.setStatus(status);
+                    return new ResponseEntity<>(updated(before, task, ChangeType.TASK_STATUS_CHANGED), HttpStatus.OK);
+                }
+                return null;
+            });
+            if (response != null) {
+                return response;
             }
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
     }
 
-
-    public ResponseEntity<Page<Task>> getTasksByAuthor(String authorEmail, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAuthor(String authorEmail, Pageable pageable, boolean withCount) {
         ResponseEntity<User> userResponse = userService.getUserByEmail(authorEmail);
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        User author = userResponse.getBody();
-        Page<Task> tasks = taskRepository.findByAuthor(author, pageable);
+        Long authorId = userResponse.getBody().getId();
+        Slice<TaskSummary> tasks = taskRepository.findSummarySliceByAuthorId(authorId, pageable);
+        if (withCount) {
+            tasks = countCache.toPage(tasks, CountCache.tasksByAuthor(authorId), () -> taskRepository.countByAuthorId(authorId));
+        }
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
 
-    public ResponseEntity<Page<Task>> getTasksByAssignee(String assigneeEmail, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Slice<TaskSummary>> getTasksByAssignee(String assigneeEmail, Pageable pageable, boolean withCount) {
         ResponseEntity<User> userResponse = userService.getUserByEmail(assigneeEmail);
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        User assignee = userResponse.getBody();
-        Page<Task> tasks = taskRepository.findByAssignee(assignee, pageable);
+        Long assigneeId = userResponse.getBody().getId();
+        Slice<TaskSummary> tasks = taskRepository.findSummarySliceByAssigneeId(assigneeId, pageable);
+        if (withCount) {
+            tasks = countCache.toPage(tasks, CountCache.tasksByAssignee(assigneeId), () -> taskRepository.countByAssigneeId(assigneeId));
+        }
+        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    }
+
+    public ResponseEntity<TaskStats> getTaskStats(String email) {
+        ResponseEntity<User> userResponse = userService.getUserByEmail(email);
+        if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Long userId = userResponse.getBody().getId();
+        TaskStats stats = new TaskStats(email,
+                taskCounters.counts(userId, TaskCounterRepository.AUTHOR),
+                taskCounters.counts(userId, TaskCounterRepository.ASSIGNEE));
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    public ResponseEntity<SseEmitter> subscribeToChanges(String authorEmail, String assigneeEmail, Long taskId) {
+        Long authorId = null;
+        if (authorEmail != null) {
+            ResponseEntity<User> authorResponse = userService.getUserByEmail(authorEmail);
+            if (authorResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            authorId = authorResponse.getBody().getId();
+        }
+        Long assigneeId = null;
+        if (assigneeEmail != null) {
+            ResponseEntity<User> assigneeResponse = userService.getUserByEmail(assigneeEmail);
+            if (assigneeResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            assigneeId = assigneeResponse.getBody().getId();
+        }
+        return ResponseEntity.ok(changeFeed.subscribe(authorId, assigneeId, taskId));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<Slice<TaskSummary>> filterTasks(String authorEmail, String assigneeEmail, Set<Status> statuses,
+                                                          Set<Priority> priorities, String sort, int page, Integer size) {
+        Optional<TaskSort> order = TaskSort.fromKey(sort);
+        if (order.isEmpty() || !order.get().supports(statuses, priorities) || page < 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Long authorId = null;
+        if (authorEmail != null) {
+            ResponseEntity<User> authorResponse = userService.getUserByEmail(authorEmail);
+            if (authorResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            authorId = authorResponse.getBody().getId();
+        }
+        Long assigneeId = null;
+        if (assigneeEmail != null) {
+            ResponseEntity<User> assigneeResponse = userService.getUserByEmail(assigneeEmail);
+            if (assigneeResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            assigneeId = assigneeResponse.getBody().getId();
+        }
+
+        Specification<Task> specification = Specification.allOf(
+                TaskSpecifications.authoredBy(authorId),
+                TaskSpecifications.assignedTo(assigneeId),
+                TaskSpecifications.statusIn(statuses),
+                TaskSpecifications.priorityIn(priorities));
+        Slice<TaskSummary> tasks = taskRepository.findSummaries(specification, PageRequest.of(page, limit, order.get().getSort()));
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+
+    public ResponseEntity<Page<TaskSummary>> searchTasks(String query, int page, Integer size) {
+        if (query == null || query.isBlank() || page < 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return new ResponseEntity<>(taskSearchIndex.search(query, PageRequest.of(page, limit)), HttpStatus.OK);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<TaskSummary>> getTasks(String cursor, Integer size, String sort) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        TaskCursor position;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                position = TaskCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        } else if (sort == null || TaskCursor.SORT_ID.equals(sort)) {
+            position = new TaskCursor(TaskCursor.SORT_ID, null, 0L);
+        } else if (TaskCursor.SORT_PRIORITY.equals(sort)) {
+            position = new TaskCursor(TaskCursor.SORT_PRIORITY, Priority.values()[0], 0L);
+        } else {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        // One extra row tells us whether a next page exists without a count query
+        List<TaskSummary> rows = TaskCursor.SORT_PRIORITY.equals(position.getSort())
+                ? findByPriorityAfter(position, limit + 1)
+                : taskRepository.findSummariesAfterId(position.getLastId(), PageRequest.of(0, limit + 1));
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            TaskSummary last = rows.get(limit - 1);
+            next = new TaskCursor(position.getSort(), last.getPriority(), last.getId()).encode();
+        }
+        return new ResponseEntity<>(new CursorPage<>(new ArrayList<>(rows), next), HttpStatus.OK);
+    }
+
+    private List<TaskSummary> findByPriorityAfter(TaskCursor position, int limit) {
+        List<TaskSummary> rows = new ArrayList<>(limit);
+        long lastId = position.getLastId();
+        Priority[] priorities = Priority.values();
+        for (int i = position.getPriority().ordinal(); i < priorities.length && rows.size() < limit; i++) {
+            rows.addAll(taskRepository.findSummariesByPriorityAfterId(
+                    priorities[i], lastId, PageRequest.of(0, limit - rows.size())));
+            lastId = 0L;
+        }
+        return rows;
     }
 
     public ResponseEntity<?> assignTaskToUser(Long taskId, String assigneeEmail, Principal principal) {
-        Optional<Task> taskOpt = taskRepository.findById(taskId);
-        if (!taskOpt.isPresent()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            ResponseEntity<?> response = inNewAttempt(taskId, () -> {
+                Optional<Task> taskOpt = taskRepository.findById(taskId);
+                if (!taskOpt.isPresent()) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+
+                Task task = taskOpt.get();
+
+                ResponseEntity<User> userResponse = userService.getUserByEmail(principal.getName());
+                if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                User currentUser = userResponse.getBody();
+
+                if (!task.getAuthor().equals(currentUser)) {
+                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+                }
+
+                ResponseEntity<User> assigneeResponse = userService.getUserByEmail(assigneeEmail);
+                if (assigneeResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                User assignee = assigneeResponse.getBody();
+
+                if (assignee.getRole() != Role.ASSIGNEE) {
+                    return new ResponseEntity<>("User does not have the ASSIGNEE role", HttpStatus.FORBIDDEN);
+                }
+
+                TaskCounters.Snapshot before = TaskCounters.snapshot(task);
+                if (taskRepository.updateAssignee(task, currentUser.getId(), assignee)) {
+                    task.setAssignee(assignee);
+                    return new ResponseEntity<>(updated(before, task, ChangeType.TASK_ASSIGNED), HttpStatus.OK);
+                }
+                return null;
+            });
+            if (response != null) {
+                return response;
+            }
         }
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
 
-        Task task = taskOpt.get();
+    @Transactional
+    public ResponseEntity<?> updateTaskStatuses(List<Long> taskIds, Status status, UserDetails userDetails) {
+        ResponseEntity<String> invalid = checkBulkIds(taskIds);
+        if (invalid != null) {
+            return invalid;
+        }
+        ResponseEntity<User> userResponse = userService.getUserByEmail(userDetails.getUsername());
+        if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        User currentUser = userResponse.getBody();
 
+        Map<Long, BulkUpdateResult> results = new LinkedHashMap<>();
+        List<Task> permitted = bulkCandidates(taskIds, results,
+                task -> task.getAssignee() != null && task.getAssignee().getId().equals(currentUser.getId()));
+        List<TaskCounters.Snapshot> before = permitted.stream().map(TaskCounters::snapshot).toList();
+        Set<Long> updated = permitted.isEmpty() ? Set.of()
+                : taskRepository.updateStatuses(permitted, currentUser.getId(), status);
+        bulkUpdated(before, permitted, updated, task -> task.setStatus(status), ChangeType.TASK_STATUS_CHANGED, results);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @Transactional
+    public ResponseEntity<?> assignTasksToUser(List<Long> taskIds, String assigneeEmail, Principal principal) {
+        ResponseEntity<String> invalid = checkBulkIds(taskIds);
+        if (invalid != null) {
+            return invalid;
+        }
         ResponseEntity<User> userResponse = userService.getUserByEmail(principal.getName());
         if (userResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
         User currentUser = userResponse.getBody();
 
-        if (!task.getAuthor().equals(currentUser)) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-        }
-
         ResponseEntity<User> assigneeResponse = userService.getUserByEmail(assigneeEmail);
         if (assigneeResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -165,8 +506,110 @@ public class TaskService {
             return new ResponseEntity<>("User does not have the ASSIGNEE role", HttpStatus.FORBIDDEN);
         }
 
-        task.setAssignee(assignee);
-        taskRepository.save(task);
-        return new ResponseEntity<>(task, HttpStatus.OK);
+        Map<Long, BulkUpdateResult> results = new LinkedHashMap<>();
+        List<Task> permitted = bulkCandidates(taskIds, results,
+                task -> task.getAuthor().getId().equals(currentUser.getId()));
+        List<TaskCounters.Snapshot> before = permitted.stream().map(TaskCounters::snapshot).toList();
+        Set<Long> updated = permitted.isEmpty() ? Set.of()
+                : taskRepository.updateAssignees(permitted, currentUser.getId(), assignee);
+        bulkUpdated(before, permitted, updated, task -> task.setAssignee(assignee), ChangeType.TASK_ASSIGNED, results);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> checkBulkIds(List<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return new ResponseEntity<>("No task ids given", HttpStatus.BAD_REQUEST);
+        }
+        if (taskIds.size() > maxBatchSize) {
+            return new ResponseEntity<>("At most " + maxBatchSize + " tasks can be updated at once", HttpStatus.BAD_REQUEST);
+        }
+        return null;
+    }
+
+    // Loads all requested tasks in one query and records NOT_FOUND and FORBIDDEN, in request order
+    private List<Task> bulkCandidates(List<Long> taskIds, Map<Long, BulkUpdateResult> results, Predicate<Task> permitted) {
+        Map<Long, Task> found = new HashMap<>();
+        for (Task task : taskRepository.findAllWithUsersByIdIn(new HashSet<>(taskIds))) {
+            found.put(task.getId(), task);
+        }
+        List<Task> candidates = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(taskIds)) {
+            Task task = found.get(id);
+            if (task == null) {
+                results.put(id, BulkUpdateResult.NOT_FOUND);
+            } else if (!permitted.test(task)) {
+                results.put(id, BulkUpdateResult.FORBIDDEN);
+            } else {
+                results.put(id, null);
+                candidates.add(task);
+            }
+        }
+        return candidates;
+    }
+
+    private void bulkUpdated(List<TaskCounters.Snapshot> before, List<Task> permitted, Set<Long> updated,
+                             Consumer<Task> change, ChangeType type, Map<Long, BulkUpdateResult> results) {
+        List<TaskCounters.Snapshot> changedBefore = new ArrayList<>();
+        List<Task> changed = new ArrayList<>();
+        for (int i = 0; i < permitted.size(); i++) {
+            Task task = permitted.get(i);
+            if (updated.contains(task.getId())) {
+                change.accept(task);
+                task.setVersion(task.getVersion() + 1);
+                changedBefore.add(before.get(i));
+                changed.add(task);
+                results.put(task.getId(), BulkUpdateResult.UPDATED);
+            } else {
+                results.put(task.getId(), BulkUpdateResult.CONFLICT);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        taskCounters.changedAll(changedBefore, changed);
+        for (int i = 0; i < changed.size(); i++) {
+            evictCounts(changedBefore.get(i));
+            evictCounts(TaskCounters.snapshot(changed.get(i)));
+            taskSearchIndex.onSaved(changed.get(i));
+            changeFeed.taskChanged(type, changed.get(i), changedBefore.get(i).assigneeId());
+        }
+        taskOutbox.tasksChanged(type, changed);
+        List<Long> ids = changed.stream().map(Task::getId).toList();
+        AfterCommit.run(() -> ids.forEach(taskRepository::evictCached));
+    }
+
+    // A conditional update that misses means the task changed after it was read. Within one
+    // transaction a re-read would see the same snapshot under REPEATABLE READ, so every attempt
+    // reads and writes in its own and returns null to be retried. A deadlock or serialization
+    // failure has rolled the attempt back and is retried the same way, without the cached task.
+    private <T> T inNewAttempt(Long taskId, Supplier<T> attempt) {
+        try {
+            return new TransactionTemplate(transactionManager).execute(transaction -> attempt.get());
+        } catch (PessimisticLockingFailureException e) {
+            taskRepository.evictCached(taskId);
+            return null;
+        }
+    }
+
+    // Side effects of a conditional update, applied to the detached task the update was based on
+    private Task updated(TaskCounters.Snapshot before, Task task, ChangeType type) {
+        task.setVersion(task.getVersion() + 1);
+        taskCounters.changed(before, task);
+        evictCounts(before);
+        evictCounts(TaskCounters.snapshot(task));
+        taskSearchIndex.onSaved(task);
+        changeFeed.taskChanged(type, task, before.assigneeId());
+        taskOutbox.taskChanged(type, task);
+        AfterCommit.run(() -> taskRepository.evictCached(task.getId()));
+        return task;
+    }
+
+    private void evictCounts(TaskCounters.Snapshot task) {
+        if (task.authorId() != null) {
+            countCache.evict(CountCache.tasksByAuthor(task.authorId()));
+        }
+        if (task.assigneeId() != null) {
+            countCache.evict(CountCache.tasksByAssignee(task.assigneeId()));
+        }
     }
 }
@@ -0,0 +1,130 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves users by email or id with two layers in front of the repository: a memo bound to the
+ * current HTTP request and a bounded cache shared across requests that expires entries after a TTL.
+ * Any change to a user must go through {@link #invalidate(Long)}.
+ */
+@Component
+public class UserCache {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = UserCache.class.getName() + ".";
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> byEmail;
+    private final Cache<Long, User> byId;
+    private final Counter requestHits;
+    private final Counter cacheHits;
+    private final Counter misses;
+
+    public UserCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${users.cache.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.byEmail");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        this.requestHits = meterRegistry.counter("users.resolution", "result", "request-hit");
+        this.cacheHits = meterRegistry.counter("users.resolution", "result", "cache-hit");
+        this.misses = meterRegistry.counter("users.resolution", "result", "miss");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        String key = "email:" + email;
+        User user = fromRequest(key);
+        if (user != null) {
+            requestHits.increment();
+            return Optional.of(user);
+        }
+        user = byEmail.getIfPresent(email);
+        if (user != null) {
+            cacheHits.increment();
+        } else {
+            misses.increment();
+            user = userRepository.findByEmail(email).orElse(null);
+            if (user == null) {
+                return Optional.empty();
+            }
+            put(user);
+        }
+        toRequest(key, user);
+        toRequest("id:" + user.getId(), user);
+        return Optional.of(user);
+    }
+
+    public Optional<User> findById(Long id) {
+        String key = "id:" + id;
+        User user = fromRequest(key);
+        if (user != null) {
+            requestHits.increment();
+            return Optional.of(user);
+        }
+        user = byId.getIfPresent(id);
+        if (user != null) {
+            cacheHits.increment();
+        } else {
+            misses.increment();
+            user = userRepository.findById(id).orElse(null);
+            if (user == null) {
+                return Optional.empty();
+            }
+            put(user);
+        }
+        toRequest(key, user);
+        toRequest("email:" + user.getEmail(), user);
+        return Optional.of(user);
+    }
+
+    public void invalidate(Long id) {
+        User cached = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (cached != null) {
+            byEmail.invalidate(cached.getEmail());
+        }
+        // The email may have been cached without the id entry, e.g. after the id entry was evicted
+        byEmail.asMap().values().removeIf(user -> id.equals(user.getId()));
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            for (String name : attributes.getAttributeNames(RequestAttributes.SCOPE_REQUEST)) {
+                if (name.startsWith(REQUEST_ATTRIBUTE_PREFIX)) {
+                    attributes.removeAttribute(name, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        }
+    }
+
+    private void put(User user) {
+        byEmail.put(user.getEmail(), user);
+        byId.put(user.getId(), user);
+    }
+
+    private User fromRequest(String key) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (User) attributes.getAttribute(REQUEST_ATTRIBUTE_PREFIX + key, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private void toRequest(String key, User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE_PREFIX + key, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
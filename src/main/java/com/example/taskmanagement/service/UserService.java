@@ -1,5 +1,6 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.exception.ServiceUnavailableException;
 import com.example.taskmanagement.model.Role;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
@@ -32,6 +33,12 @@ public class UserService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     public ResponseEntity<?> registerUser(User user, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
@@ -47,31 +54,34 @@ public class UserService {
                 throw new IllegalArgumentException("Invalid role");
             }
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        String rawPassword = user.getPassword();
+        user.setPassword(passwordHashingExecutor.execute(() -> passwordEncoder.encode(rawPassword)));
         User createdUser = userRepository.save(user);
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
     public ResponseEntity<?> loginUser(String email, String password) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(email, password)
-            );
+            ));
             String jwt = jwtService.generateToken((UserDetails) authentication.getPrincipal());
             return ResponseEntity.ok(jwt);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED);
         }
     }
 
     public ResponseEntity<User> getUserById(Long id) {
-        Optional<User> user = userRepository.findById(id);
+        Optional<User> user = userCache.findById(id);
         return user.map(ResponseEntity::ok)
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     public ResponseEntity<User> getUserByEmail(String email) {
-        Optional<User> user = userRepository.findByEmail(email);
+        Optional<User> user = userCache.findByEmail(email);
         return user.map(ResponseEntity::ok)
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -87,6 +97,7 @@ public class UserService {
         if (userRepository.existsById(id)) {
             user.setId(id);
             User updatedUser = userRepository.save(user);
+            userCache.invalidate(id);
             return new ResponseEntity<>(updatedUser, HttpStatus.OK);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -95,6 +106,7 @@ public class UserService {
     public ResponseEntity<Void> deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            userCache.invalidate(id);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -0,0 +1,11 @@
+-- GET /tasks/filter sorts that V3/V4 left to a filesort once a user filter pins the leading
+-- column (see TaskSort.supports): id order and priority order per author and per assignee.
+create index idx_task_author_id on task (author_id, id);
+create index idx_task_assignee_id on task (assignee_id, id);
+create index idx_task_author_priority on task (author_id, priority, id);
+create index idx_task_assignee_priority on task (assignee_id, priority, id);
+
+-- Enum columns sort by declaration position, which was alphabetical. Declare them in the
+-- order of the Java enums so sort=priority and sort=status follow it; values keep their names.
+alter table task modify priority enum ('HIGH','MEDIUM','LOW') not null;
+alter table task modify status enum ('PENDING','IN_PROGRESS','COMPLETED') not null;
@@ -0,0 +1,4 @@
+-- OutboxRelay claims a batch in a short transaction and publishes it after commit, so the
+-- oldest rows are no longer locked, and appends no longer blocked, for as long as a publish
+-- takes. A claim that outlives claimed_until, e.g. because its relay died, is taken over.
+alter table task_outbox add column claimed_until datetime(6) null;
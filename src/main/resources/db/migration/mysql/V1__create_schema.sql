@@ -0,0 +1,34 @@
+-- Schema as previously created by hibernate.ddl-auto=update.
+-- Databases that already have these tables are baselined at this version and skip it.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ASSIGNEE','AUTHOR') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table task (
+    id bigint not null auto_increment,
+    title varchar(100) not null,
+    description varchar(500),
+    status enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    priority enum ('HIGH','LOW','MEDIUM') not null,
+    author_id bigint not null,
+    assignee_id bigint,
+    primary key (id),
+    constraint fk_task_author foreign key (author_id) references users (id),
+    constraint fk_task_assignee foreign key (assignee_id) references users (id)
+) engine=InnoDB;
+
+create table comment (
+    id bigint not null auto_increment,
+    text varchar(255) not null,
+    author_id bigint not null,
+    task_id bigint not null,
+    primary key (id),
+    constraint fk_comment_author foreign key (author_id) references users (id),
+    constraint fk_comment_task foreign key (task_id) references task (id)
+) engine=InnoDB;
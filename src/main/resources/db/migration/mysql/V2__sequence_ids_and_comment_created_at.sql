@@ -0,0 +1,14 @@
+-- Tables backing the pooled sequence generators (MySQL has no native sequences).
+-- The pooled optimizer hands out (next_val - 49 .. next_val] on first use, so existing
+-- tables are seeded a full allocation above their current max id.
+
+create table users_seq (next_val bigint) engine=InnoDB;
+insert into users_seq (next_val) select case when max(id) is null then 1 else max(id) + 51 end from users;
+
+create table task_seq (next_val bigint) engine=InnoDB;
+insert into task_seq (next_val) select case when max(id) is null then 1 else max(id) + 51 end from task;
+
+create table comment_seq (next_val bigint) engine=InnoDB;
+insert into comment_seq (next_val) select case when max(id) is null then 1 else max(id) + 51 end from comment;
+
+alter table comment add column created_at datetime(6);
@@ -0,0 +1,14 @@
+-- Indexes matched to repository queries. Each one leads with the equality filter and ends
+-- with id, so keyset pages and the default id order are read straight off the index.
+
+-- TaskRepository.findSummariesByAuthor / findSummariesByAssignee (and their count queries)
+create index idx_task_author on task (author_id, status, priority, id);
+create index idx_task_assignee on task (assignee_id, status, priority, id);
+
+-- TaskRepository.findSummariesByPriorityAfterId (GET /tasks?sort=priority)
+create index idx_task_priority on task (priority, id);
+
+-- CommentRepository.findSummariesByTaskId / findSummarySliceByTaskId / streamAllOrderByTaskId
+create index idx_comment_task on comment (task_id, id);
+
+-- UserRepository.findByEmail is served by uk_users_email
@@ -0,0 +1,6 @@
+-- Indexes for GET /tasks/filter (TaskSort). Status order under an author or assignee filter
+-- is covered by idx_task_author / idx_task_assignee from V3, priority order by idx_task_priority;
+-- the remaining author and assignee orders are added in V10.
+
+-- TaskSort.STATUS without an author or assignee filter
+create index idx_task_status on task (status, priority, id);
@@ -0,0 +1,18 @@
+-- Per-user task counts behind GET /tasks/stats. TaskService adjusts them in the same
+-- transaction as each task change and TaskCounters reconciles them against task periodically.
+
+create table task_counter (
+    user_id bigint not null,
+    relation varchar(8) not null,
+    status enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    priority enum ('HIGH','LOW','MEDIUM') not null,
+    task_count bigint not null,
+    primary key (user_id, relation, status, priority)
+) engine=InnoDB;
+
+insert into task_counter (user_id, relation, status, priority, task_count)
+select author_id, 'AUTHOR', status, priority, count(*) from task group by author_id, status, priority;
+
+insert into task_counter (user_id, relation, status, priority, task_count)
+select assignee_id, 'ASSIGNEE', status, priority, count(*) from task where assignee_id is not null
+group by assignee_id, status, priority;
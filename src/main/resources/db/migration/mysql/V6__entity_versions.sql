@@ -0,0 +1,5 @@
+-- Optimistic-lock versions, also the source of the ETags served for tasks and comments.
+
+alter table task add column version bigint not null default 0;
+
+alter table comment add column version bigint not null default 0;
@@ -0,0 +1,11 @@
+-- Task changes waiting to be delivered downstream. TaskService appends rows in the same
+-- transaction as the change and OutboxRelay deletes them once the sink has accepted them.
+
+create table task_outbox (
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    event_type varchar(32) not null,
+    payload text,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,10 @@
+-- Comment count and last activity per task, so task listings need no per-row comment queries.
+-- Comment changes adjust them with increment/decrement statements in the same transaction;
+-- TaskActivityReconciler repairs any drift from the comment table.
+
+alter table task add column comment_count bigint not null default 0;
+
+alter table task add column last_activity_at datetime(6);
+
+update task t set comment_count = (select count(*) from comment c where c.task_id = t.id),
+    last_activity_at = (select max(c.created_at) from comment c where c.task_id = t.id);
@@ -0,0 +1,15 @@
+-- comment.text now holds at most the first 1000 characters. Longer texts are stored whole,
+-- gzip-compressed, in comment_body, which is only read by GET /comments/{id}/text and exports.
+
+alter table comment modify column text varchar(1000) not null;
+
+alter table comment add column text_length int not null default 0;
+
+update comment set text_length = char_length(text);
+
+create table comment_body (
+    comment_id bigint not null,
+    body longblob not null,
+    primary key (comment_id),
+    constraint fk_comment_body_comment foreign key (comment_id) references comment (id) on delete cascade
+) engine=InnoDB;
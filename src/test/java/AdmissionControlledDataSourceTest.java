@@ -0,0 +1,94 @@
+import com.example.taskmanagement.config.AdmissionControlledDataSource;
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AdmissionControlledDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new AdmissionControlledDataSource(target, 1, Duration.ofMillis(50), 3);
+    }
+
+    @Test
+    public void getConnection_RejectsWhenAllPermitsAreHeld() throws Exception {
+        Connection held = CompletableFuture.supplyAsync(this::connect).get(5, TimeUnit.SECONDS);
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, dataSource::getConnection);
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, dataSource.getRejected());
+        held.close();
+    }
+
+    @Test
+    public void getConnection_NestedOnHoldingThreadNeedsNoPermit() throws SQLException {
+        Connection outer = dataSource.getConnection();
+
+        Connection nested = dataSource.getConnection();
+        nested.close();
+        assertEquals(1, dataSource.getInUse());
+
+        outer.close();
+        assertEquals(0, dataSource.getInUse());
+        assertEquals(0, dataSource.getRejected());
+    }
+
+    @Test
+    public void close_ReleasesPermitOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        assertEquals(1, dataSource.getInUse());
+
+        first.close();
+        first.close();
+
+        assertEquals(0, dataSource.getInUse());
+        verify(connection, times(1)).close();
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    public void getConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout")).thenReturn(connection);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getInUse());
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    public void otherCallsGoToTheRealConnection() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        assertTrue(dataSource.getConnection().getAutoCommit());
+    }
+
+    private Connection connect() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+import com.example.taskmanagement.controller.TaskController;
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.ChangeFeed;
+import com.example.taskmanagement.service.TaskCounters;
+import com.example.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class ChangeFeedTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeFeed changeFeed;
+    private MockMvc mockMvc;
+    private final CountDownLatch stalled = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeed = new ChangeFeed(meterRegistry, 16, Duration.ofMinutes(1), 2, 1, 2, Duration.ofMillis(200));
+        when(taskService.subscribeToChanges(any(), any(), any())).thenAnswer(invocation -> ResponseEntity.ok(
+                changeFeed.subscribe(invocation.getArgument(0) == null ? null : 1L,
+                        invocation.getArgument(1) == null ? null : 4L, invocation.getArgument(2))));
+        // A stall parameter stands in for a client that stopped reading
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .addFilters((request, response, chain) -> chain.doFilter(request,
+                        request.getParameter("stall") != null ? new StalledResponse((HttpServletResponse) response) : response))
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stalled.countDown();
+        changeFeed.shutdown();
+    }
+
+    @Test
+    public void subscribe_StreamsOnlyMatchingEvents() throws Exception {
+        MockHttpServletResponse response = subscribe("/tasks/changes?assigneeEmail=assignee@example.com");
+
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(10L, 5L));
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(11L, 4L));
+        changeFeed.commentChanged(ChangeType.COMMENT_CREATED, comment(12L, 11L), "author@example.com");
+        changeFeed.taskChanged(ChangeType.TASK_ASSIGNED, task(11L, 5L), 4L);
+
+        String body = await(response, "event:TASK_ASSIGNED");
+        assertFalse(body.contains("\"taskId\":10"));
+        assertFalse(body.contains("COMMENT_CREATED"));
+        assertTrue(body.indexOf("event:TASK_CREATED") < body.indexOf("event:TASK_ASSIGNED"));
+        assertFalse(body.contains("assigneeId"));
+    }
+
+    @Test
+    public void subscribe_TaskFilterIncludesComments() throws Exception {
+        MockHttpServletResponse response = subscribe("/tasks/changes?taskId=11");
+
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(10L, 5L));
+        changeFeed.commentChanged(ChangeType.COMMENT_CREATED, comment(12L, 11L), "author@example.com");
+        changeFeed.taskDeleted(11L, new TaskCounters.Snapshot(1L, 4L, Status.PENDING, null));
+
+        String body = await(response, "event:TASK_DELETED");
+        assertTrue(body.contains("\"authorEmail\":\"author@example.com\""));
+        assertFalse(body.contains("\"taskId\":10"));
+    }
+
+    @Test
+    public void subscribe_RejectsOverLimit() throws Exception {
+        subscribe("/tasks/changes");
+        subscribe("/tasks/changes");
+
+        assertEquals(2.0, meterRegistry.get("changes.feed.subscribers").gauge().value());
+        assertThrows(ServiceUnavailableException.class, () -> changeFeed.subscribe(null, null, null));
+    }
+
+    @Test
+    public void subscribe_DropsStalledSubscriber() throws Exception {
+        subscribe("/tasks/changes?taskId=10&stall=true");
+        MockHttpServletResponse response = subscribe("/tasks/changes?taskId=11");
+
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(10L, 5L));
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(11L, 4L));
+
+        await(response, "\"taskId\":11");
+        assertEquals(1.0, meterRegistry.get("changes.feed.write-timeouts").counter().count());
+        assertEquals(1.0, meterRegistry.get("changes.feed.subscribers").gauge().value());
+    }
+
+    @Test
+    public void subscribe_StalledSubscribersHoldAtMostTheWriterThreads() throws Exception {
+        changeFeed.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeed = new ChangeFeed(meterRegistry, 16, Duration.ofMinutes(1), 20, 1, 2, Duration.ofMillis(100));
+        for (int i = 0; i < 8; i++) {
+            subscribe("/tasks/changes?stall=true");
+        }
+
+        changeFeed.taskChanged(ChangeType.TASK_CREATED, task(10L, 5L));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("changes.feed.subscribers").gauge().value() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Stalled subscribers were not dropped");
+            Thread.sleep(10);
+        }
+        assertEquals(2.0, meterRegistry.get("changes.feed.write-timeouts").counter().count());
+        assertEquals(2, Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> Arrays.stream(thread.getStackTrace())
+                        .anyMatch(frame -> frame.getClassName().startsWith(StalledResponse.class.getName())))
+                .count());
+    }
+
+    private MockHttpServletResponse subscribe(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private String await(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + expected);
+            Thread.sleep(10);
+        }
+        return response.getContentAsString();
+    }
+
+    private Task task(Long id, Long assigneeId) {
+        User author = new User();
+        author.setId(1L);
+        author.setEmail("author@example.com");
+        User assignee = new User();
+        assignee.setId(assigneeId);
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        return task;
+    }
+
+    private Comment comment(Long id, Long taskId) {
+        Task task = new Task();
+        task.setId(taskId);
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setText("Sample Comment");
+        comment.setTask(task);
+        return comment;
+    }
+
+    private class StalledResponse extends HttpServletResponseWrapper {
+
+        StalledResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    try {
+                        stalled.await();
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+            };
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import com.example.taskmanagement.controller.CommentController;
+import com.example.taskmanagement.dto.CommentSummary;
 import com.example.taskmanagement.model.Comment;
 import com.example.taskmanagement.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -6,14 +7,33 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class CommentControllerTest {
@@ -29,7 +49,9 @@ public class CommentControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(commentController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(commentController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
     }
 
     @Test
@@ -38,14 +60,58 @@ public class CommentControllerTest {
         Comment comment = new Comment();
         comment.setId(id);
         comment.setText("Sample Comment");
+        comment.setVersion(0L);
         when(commentService.getCommentById(id)).thenReturn(Optional.of(comment));
 
         mockMvc.perform(get("/comments/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.text").value("Sample Comment"));
     }
 
+    @Test
+    public void getCommentById_NotModified() throws Exception {
+        when(commentService.getCommentVersion(1L)).thenReturn(Optional.of(2L));
+
+        mockMvc.perform(get("/comments/{id}", 1L).header("If-None-Match", "\"1\", \"2\""))
+                .andExpect(status().isNotModified());
+        verify(commentService, never()).getCommentById(any());
+    }
+
+    @Test
+    public void getCommentText_StreamsFullText() throws Exception {
+        Comment comment = new Comment();
+        comment.setId(1L);
+        comment.setVersion(3L);
+        when(commentService.getCommentById(1L)).thenReturn(Optional.of(comment));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("full text".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(commentService).writeCommentText(eq(comment), any());
+
+        MvcResult result = mockMvc.perform(get("/comments/{id}/text", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(content().string("full text"));
+    }
+
+    @Test
+    public void getCommentText_NotModified() throws Exception {
+        Comment comment = new Comment();
+        comment.setVersion(3L);
+        when(commentService.getCommentById(1L)).thenReturn(Optional.of(comment));
+
+        mockMvc.perform(get("/comments/{id}/text", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+        verify(commentService, never()).writeCommentText(any(), any());
+    }
+
     @Test
     public void getCommentById_NotFound() throws Exception {
         Long id = 1L;
@@ -54,6 +120,52 @@ public class CommentControllerTest {
         mockMvc.perform(get("/comments/{id}", id))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    public void getCommentsByTask_WithoutCount() throws Exception {
+        Long taskId = 1L;
+        CommentSummary summary = new CommentSummary(5L, "Sample Comment", 14, "author@example.com", null, 0L);
+        Slice<CommentSummary> page = new SliceImpl<>(List.of(summary), PageRequest.of(0, 20), false);
+        when(commentService.getCommentsByTask(eq(taskId), any(Pageable.class), eq(false))).thenReturn(Optional.of(page));
+        when(commentService.getCommentsPageTag(page)).thenReturn("abc");
 
+        mockMvc.perform(get("/comments/task/{taskId}", taskId).param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$.content[0].authorEmail").value("author@example.com"))
+                .andExpect(jsonPath("$.content[0].version").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        // Without If-None-Match the tag comes from the rows already loaded
+        verify(commentService, never()).getCommentsPageTag(any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void getCommentsByTask_NotModified() throws Exception {
+        when(commentService.getCommentsPageTag(eq(1L), any(Pageable.class), eq(true))).thenReturn(Optional.of("abc"));
+
+        mockMvc.perform(get("/comments/task/{taskId}", 1L).header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc\""));
+        verify(commentService, never()).getCommentsByTask(any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void getCommentsByTask_ModifiedSinceTag() throws Exception {
+        Slice<CommentSummary> page = new SliceImpl<>(List.of(), PageRequest.of(0, 20), false);
+        when(commentService.getCommentsPageTag(eq(1L), any(Pageable.class), eq(true))).thenReturn(Optional.of("def"));
+        when(commentService.getCommentsByTask(eq(1L), any(Pageable.class), eq(true))).thenReturn(Optional.of(page));
+        when(commentService.getCommentsPageTag(page)).thenReturn("def");
+
+        mockMvc.perform(get("/comments/task/{taskId}", 1L).header("If-None-Match", "\"abc\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"def\""));
+    }
+
+    @Test
+    public void getCommentsByTask_TaskNotFound() throws Exception {
+        when(commentService.getCommentsByTask(eq(1L), any(Pageable.class), eq(true))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/comments/task/{taskId}", 1L))
+                .andExpect(status().isNotFound());
+    }
+}
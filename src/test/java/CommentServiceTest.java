@@ -1,25 +1,45 @@
+import com.example.taskmanagement.dto.CommentSummary;
+import com.example.taskmanagement.dto.EntityVersion;
 import com.example.taskmanagement.model.Comment;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentBodyRepository;
 import com.example.taskmanagement.repository.CommentRepository;
-import com.example.taskmanagement.repository.UserRepository;
 import com.example.taskmanagement.service.CommentService;
+import com.example.taskmanagement.service.ChangeFeed;
+import com.example.taskmanagement.service.CountCache;
 import com.example.taskmanagement.service.TaskService;
 import com.example.taskmanagement.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -35,7 +55,16 @@ public class CommentServiceTest {
     private UserService userService;
 
     @Mock
-    private UserRepository userRepository;
+    private ChangeFeed changeFeed;
+
+    @Mock
+    private CommentBodyRepository commentBodyRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CountCache countCache = new CountCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(10));
 
     @Mock
     private BindingResult bindingResult;
@@ -46,11 +75,13 @@ public class CommentServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(commentService, "maxTextLength", 5000);
     }
 
     @Test
     public void createComment_Success() {
         Comment comment = new Comment();
+        comment.setText("Sample Comment");
         User user = new User();
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("user@example.com");
@@ -65,6 +96,143 @@ public class CommentServiceTest {
         verify(commentRepository).save(comment);
     }
 
+    @Test
+    public void createComment_RecordsTaskActivity() {
+        Task task = new Task();
+        task.setId(9L);
+        Comment comment = new Comment();
+        comment.setText("Sample Comment");
+        comment.setTask(task);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(new User(), HttpStatus.OK));
+        when(taskService.getTaskById(9L)).thenReturn(Optional.of(task));
+        when(commentRepository.save(comment)).thenReturn(comment);
+
+        commentService.createComment(comment, bindingResult, userDetails);
+
+        verify(taskService).commentAdded(eq(9L), any(Instant.class));
+    }
+
+    @Test
+    public void createComment_TaskNotFound() {
+        Task task = new Task();
+        task.setId(9L);
+        Comment comment = new Comment();
+        comment.setText("Sample Comment");
+        comment.setTask(task);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(new User(), HttpStatus.OK));
+        when(taskService.getTaskById(9L)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = commentService.createComment(comment, bindingResult, userDetails);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    public void createComment_StoresLongTextCompressed() throws Exception {
+        String text = "log line\n".repeat(300);
+        Comment comment = new Comment();
+        comment.setText(text);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(new User(), HttpStatus.OK));
+        when(commentRepository.saveAndFlush(comment)).thenAnswer(invocation -> {
+            comment.setId(3L);
+            return comment;
+        });
+
+        ResponseEntity<?> response = commentService.createComment(comment, bindingResult, userDetails);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(Comment.PREVIEW_LENGTH, comment.getText().length());
+        assertEquals(text.length(), comment.getTextLength());
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(commentBodyRepository).save(eq(3L), body.capture());
+        assertTrue(body.getValue().length < text.length() / 10);
+        assertEquals(text, new String(new GZIPInputStream(new ByteArrayInputStream(body.getValue())).readAllBytes(), StandardCharsets.UTF_8));
+        verify(commentRepository, never()).save(any());
+    }
+
+    @Test
+    public void createComment_TextTooLong() {
+        Comment comment = new Comment();
+        comment.setText("x".repeat(5001));
+        UserDetails userDetails = mock(UserDetails.class);
+        when(bindingResult.hasErrors()).thenReturn(false);
+
+        ResponseEntity<?> response = commentService.createComment(comment, bindingResult, userDetails);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(commentRepository, commentBodyRepository);
+    }
+
+    @Test
+    public void updateComment_ShortTextDropsBody() {
+        User currentUser = new User();
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(currentUser, HttpStatus.OK));
+        Comment existingComment = new Comment();
+        existingComment.setId(1L);
+        existingComment.setAuthor(currentUser);
+        existingComment.setText("x".repeat(Comment.PREVIEW_LENGTH));
+        existingComment.setTextLength(4000);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(existingComment));
+        when(commentRepository.save(existingComment)).thenReturn(existingComment);
+        Comment newComment = new Comment();
+        newComment.setText("Short now");
+
+        commentService.updateComment(1L, newComment, bindingResult, userDetails);
+
+        assertEquals("Short now", existingComment.getText());
+        assertEquals(9, existingComment.getTextLength());
+        verify(commentBodyRepository).delete(1L);
+        verify(entityManager).lock(existingComment, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    public void writeCommentText_StreamsDecompressedBody() throws Exception {
+        String text = "y".repeat(2500);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        Comment comment = new Comment();
+        comment.setId(1L);
+        comment.setText(text.substring(0, Comment.PREVIEW_LENGTH));
+        comment.setTextLength(text.length());
+        when(commentBodyRepository.read(eq(1L), any())).thenAnswer(invocation -> {
+            invocation.<CommentBodyRepository.BodyReader>getArgument(1).read(new ByteArrayInputStream(compressed.toByteArray()));
+            return true;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        commentService.writeCommentText(comment, out);
+
+        assertEquals(text, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeCommentText_ShortTextNeedsNoBody() throws Exception {
+        Comment comment = new Comment();
+        comment.setText("Sample Comment");
+        comment.setTextLength(14);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        commentService.writeCommentText(comment, out);
+
+        assertEquals("Sample Comment", out.toString(StandardCharsets.UTF_8));
+        verifyNoInteractions(commentBodyRepository);
+    }
+
     @Test
     public void createComment_BindingResultErrors() {
         Comment comment = new Comment();
@@ -80,27 +248,106 @@ public class CommentServiceTest {
     }
 
     @Test
-    public void getCommentsByTask_Success() {
+    public void getCommentsByTask_CountsOnlyWhenMorePagesExist() {
         Long taskId = 1L;
-        Task task = new Task();
-        Page<Comment> comments = mock(Page.class);
-        when(taskService.getTaskById(taskId)).thenReturn(Optional.of(task));
-        when(commentRepository.findByTask(task, Pageable.unpaged())).thenReturn(comments);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(taskService.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findSummarySliceByTaskId(taskId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new CommentSummary()), pageable, true));
+        when(commentRepository.countByTaskId(taskId)).thenReturn(7L);
+
+        Optional<Slice<CommentSummary>> first = commentService.getCommentsByTask(taskId, pageable, true);
+        Optional<Slice<CommentSummary>> second = commentService.getCommentsByTask(taskId, pageable, true);
+
+        assertTrue(first.isPresent());
+        assertEquals(7L, ((Page<CommentSummary>) first.get()).getTotalElements());
+        assertEquals(7L, ((Page<CommentSummary>) second.get()).getTotalElements());
+        verify(commentRepository, times(1)).countByTaskId(taskId);
+    }
 
-        Optional<Page<Comment>> foundComments = commentService.getCommentsByTask(taskId, Pageable.unpaged());
+    @Test
+    public void getCommentsByTask_LastPageNeedsNoCount() {
+        Long taskId = 1L;
+        Pageable pageable = PageRequest.of(2, 10);
+        when(taskService.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findSummarySliceByTaskId(taskId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new CommentSummary(), new CommentSummary()), pageable, false));
+
+        Optional<Slice<CommentSummary>> foundComments = commentService.getCommentsByTask(taskId, pageable, true);
+
+        assertTrue(foundComments.isPresent());
+        assertEquals(22L, ((Page<CommentSummary>) foundComments.get()).getTotalElements());
+        verify(commentRepository, never()).countByTaskId(any());
+    }
+
+    @Test
+    public void getCommentsByTask_WithoutCount() {
+        Long taskId = 1L;
+        Slice<CommentSummary> comments = new SliceImpl<>(List.of(new CommentSummary()));
+        when(taskService.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findSummarySliceByTaskId(taskId, Pageable.unpaged())).thenReturn(comments);
+
+        Optional<Slice<CommentSummary>> foundComments = commentService.getCommentsByTask(taskId, Pageable.unpaged(), false);
 
         assertTrue(foundComments.isPresent());
         assertEquals(comments, foundComments.get());
+        verify(commentRepository, never()).countByTaskId(any());
     }
 
     @Test
     public void getCommentsByTask_NotFound() {
         Long taskId = 1L;
-        when(taskService.getTaskById(taskId)).thenReturn(Optional.empty());
+        when(taskService.existsById(taskId)).thenReturn(false);
 
-        Optional<Page<Comment>> foundComments = commentService.getCommentsByTask(taskId, Pageable.unpaged());
+        Optional<Slice<CommentSummary>> foundComments = commentService.getCommentsByTask(taskId, Pageable.unpaged(), true);
 
         assertFalse(foundComments.isPresent());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void getCommentsPageTag_ChangesWithRowVersions() {
+        Long taskId = 1L;
+        Pageable pageable = PageRequest.of(0, 10);
+        when(taskService.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findVersionSliceByTaskId(taskId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new EntityVersion(5L, 0L)), pageable, false))
+                .thenReturn(new SliceImpl<>(List.of(new EntityVersion(5L, 0L)), pageable, false))
+                .thenReturn(new SliceImpl<>(List.of(new EntityVersion(5L, 1L)), pageable, false));
+
+        String first = commentService.getCommentsPageTag(taskId, pageable, true).orElseThrow();
+        String unchanged = commentService.getCommentsPageTag(taskId, pageable, true).orElseThrow();
+        String edited = commentService.getCommentsPageTag(taskId, pageable, true).orElseThrow();
+
+        assertEquals(first, unchanged);
+        assertNotEquals(first, edited);
+        verify(commentRepository, never()).findSummarySliceByTaskId(any(), any());
+    }
+
+    @Test
+    public void getCommentsPageTag_MatchesLoadedPage() {
+        Long taskId = 1L;
+        Pageable pageable = PageRequest.of(0, 1);
+        when(taskService.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findVersionSliceByTaskId(taskId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new EntityVersion(5L, 2L)), pageable, true));
+        when(commentRepository.findSummarySliceByTaskId(taskId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new CommentSummary(5L, "Sample Comment", 14, "author@example.com", null, 2L)), pageable, true));
+        when(commentRepository.countByTaskId(taskId)).thenReturn(3L);
+
+        String tag = commentService.getCommentsPageTag(taskId, pageable, true).orElseThrow();
+        Slice<CommentSummary> page = commentService.getCommentsByTask(taskId, pageable, true).orElseThrow();
+
+        assertEquals(tag, commentService.getCommentsPageTag(page));
+        assertNotEquals(tag, commentService.getCommentsPageTag(commentService.getCommentsByTask(taskId, pageable, false).orElseThrow()));
+    }
+
+    @Test
+    public void getCommentsPageTag_TaskNotFound() {
+        when(taskService.existsById(1L)).thenReturn(false);
+
+        assertTrue(commentService.getCommentsPageTag(1L, Pageable.unpaged(), true).isEmpty());
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
@@ -144,6 +391,7 @@ public class CommentServiceTest {
     public void updateComment_NotFound() {
         Long id = 1L;
         Comment newComment = new Comment();
+        newComment.setText("Sample Comment");
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("user@example.com");
         when(bindingResult.hasErrors()).thenReturn(false);
@@ -161,7 +409,7 @@ public class CommentServiceTest {
         User currentUser = new User();
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("user@example.com");
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(currentUser));
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(currentUser, HttpStatus.OK));
         Comment existingComment = new Comment();
         existingComment.setAuthor(currentUser);
         when(commentRepository.findById(id)).thenReturn(Optional.of(existingComment));
@@ -170,6 +418,25 @@ public class CommentServiceTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(commentRepository).deleteById(id);
+        verify(taskService, never()).commentRemoved(any());
+    }
+
+    @Test
+    public void deleteComment_RecordsTaskActivity() {
+        User currentUser = new User();
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(currentUser, HttpStatus.OK));
+        Task task = new Task();
+        task.setId(9L);
+        Comment existingComment = new Comment();
+        existingComment.setAuthor(currentUser);
+        existingComment.setTask(task);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(existingComment));
+
+        commentService.deleteComment(1L, userDetails);
+
+        verify(taskService).commentRemoved(9L);
     }
 
 
@@ -178,7 +445,7 @@ public class CommentServiceTest {
         Long id = 1L;
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("user@example.com");
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(new User()));
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(new User(), HttpStatus.OK));
         when(commentRepository.findById(id)).thenReturn(Optional.empty());
 
         ResponseEntity<Void> response = commentService.deleteComment(id, userDetails);
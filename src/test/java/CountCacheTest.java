@@ -0,0 +1,56 @@
+import com.example.taskmanagement.service.CountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountCacheTest {
+
+    private CountCache countCache;
+    private AtomicInteger countQueries;
+
+    @BeforeEach
+    public void setUp() {
+        countCache = new CountCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        countQueries = new AtomicInteger();
+    }
+
+    @Test
+    public void toPage_ReusesCountUntilEvicted() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        assertEquals(10, countCache.toPage(slice, "key", this::count).getTotalElements());
+        assertEquals(10, countCache.toPage(slice, "key", this::count).getTotalElements());
+        countCache.evict("key");
+        assertEquals(10, countCache.toPage(slice, "key", this::count).getTotalElements());
+
+        assertEquals(2, countQueries.get());
+    }
+
+    @Test
+    public void toPage_DerivesTotalFromLastPage() {
+        Page<String> page = countCache.toPage(new SliceImpl<>(List.of("a"), PageRequest.of(3, 2), false), "key", this::count);
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(0, countQueries.get());
+    }
+
+    @Test
+    public void toPage_CountsWhenPageIsPastTheEnd() {
+        Page<String> page = countCache.toPage(new SliceImpl<>(List.of(), PageRequest.of(9, 2), false), "key", this::count);
+
+        assertEquals(10, page.getTotalElements());
+        assertEquals(1, countQueries.get());
+    }
+
+    private long count() {
+        countQueries.incrementAndGet();
+        return 10;
+    }
+}
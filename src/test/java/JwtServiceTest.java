@@ -0,0 +1,70 @@
+import com.example.taskmanagement.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private JwtService jwtService;
+
+    private final UserDetails userDetails = User.withUsername("user@example.com")
+            .password("encoded")
+            .roles("AUTHOR")
+            .build();
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtService(100);
+    }
+
+    @Test
+    public void verifyToken_BuildsPrincipalFromClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        Optional<UserDetails> principal = jwtService.verifyToken(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals("user@example.com", principal.get().getUsername());
+        assertEquals("ROLE_AUTHOR", principal.get().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElse(null));
+    }
+
+    @Test
+    public void verifyToken_ReusesVerifiedToken() {
+        String token = jwtService.generateToken(userDetails);
+
+        UserDetails first = jwtService.verifyToken(token).orElseThrow();
+        UserDetails second = jwtService.verifyToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void verifyToken_RejectsTamperedToken() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.verifyToken(tampered).isEmpty());
+        assertTrue(jwtService.verifyToken("not-a-token").isEmpty());
+    }
+
+    @Test
+    public void verifyToken_RejectsTokenFromOtherKey() {
+        String foreign = new JwtService(100).generateToken(userDetails);
+
+        assertTrue(jwtService.verifyToken(foreign).isEmpty());
+        assertNull(jwtService.extractEmail(foreign));
+    }
+
+    @Test
+    public void isTokenValid_ChecksSubject() {
+        String token = jwtService.generateToken(userDetails);
+
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+        assertFalse(jwtService.isTokenValid(token, User.withUsername("other@example.com").password("x").roles("AUTHOR").build()));
+    }
+}
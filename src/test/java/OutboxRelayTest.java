@@ -0,0 +1,115 @@
+import com.example.taskmanagement.repository.TaskOutboxRepository;
+import com.example.taskmanagement.repository.TaskOutboxRepository.OutboxEvent;
+import com.example.taskmanagement.service.InMemoryOutboxSink;
+import com.example.taskmanagement.service.OutboxRelay;
+import com.example.taskmanagement.service.OutboxSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.InOrder;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    @Mock
+    private TaskOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private OutboxSink sink = new InMemoryOutboxSink(100);
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatchesPerPoll", 10);
+        ReflectionTestUtils.setField(outboxRelay, "claimTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(outboxRelay, "initialBackoff", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(outboxRelay, "maxBackoff", Duration.ofMinutes(5));
+        outboxRelay.registerMetrics();
+    }
+
+    @Test
+    public void relay_DrainsFullBatchesInOrder() {
+        List<OutboxEvent> first = List.of(event(1L, 7L), event(2L, 8L));
+        List<OutboxEvent> second = List.of(event(3L, 7L));
+        when(outboxRepository.claimOldest(eq(2), any(), any())).thenReturn(first, second);
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(1L, 2L, 3L), ((InMemoryOutboxSink) sink).events().stream().map(OutboxEvent::id).toList());
+        verify(outboxRepository).delete(first);
+        verify(outboxRepository).delete(second);
+        verify(outboxRepository, times(2)).claimOldest(eq(2), any(), any());
+        assertEquals(3.0, meterRegistry.get("outbox.relay.events").counter().count());
+        assertTrue(meterRegistry.get("outbox.relay.lag").gauge().value() >= 30.0);
+        verify(meterRegistry).gauge(eq("outbox.relay.lag"), any(AtomicLong.class), any(ToDoubleFunction.class));
+    }
+
+    @Test
+    public void relay_PublishesAfterTheClaimCommits() {
+        List<OutboxEvent> batch = List.of(event(1L, 7L));
+        when(outboxRepository.claimOldest(eq(2), any(), any())).thenReturn(batch);
+
+        outboxRelay.relay();
+
+        InOrder inOrder = inOrder(outboxRepository, transactionManager, sink);
+        inOrder.verify(outboxRepository).claimOldest(eq(2), any(), eq(Duration.ofMinutes(1)));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(sink).publish(batch);
+        inOrder.verify(outboxRepository).delete(batch);
+    }
+
+    @Test
+    public void relay_BacksOffAndKeepsEventsWhenSinkFails() {
+        List<OutboxEvent> batch = List.of(event(1L, 7L));
+        when(outboxRepository.claimOldest(eq(2), any(), any())).thenReturn(batch);
+        doThrow(new IllegalStateException("downstream unavailable")).when(sink).publish(batch);
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        verify(outboxRepository, times(1)).claimOldest(eq(2), any(), any());
+        verify(outboxRepository, never()).delete(any());
+        verify(outboxRepository).release(batch);
+        assertEquals(1.0, meterRegistry.get("outbox.relay.failures").counter().count());
+    }
+
+    @Test
+    public void relay_RetriesAfterBackoff() {
+        ReflectionTestUtils.setField(outboxRelay, "initialBackoff", Duration.ZERO);
+        List<OutboxEvent> batch = List.of(event(1L, 7L));
+        when(outboxRepository.claimOldest(eq(2), any(), any())).thenReturn(batch);
+        doThrow(new IllegalStateException("downstream unavailable")).doCallRealMethod().when(sink).publish(batch);
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        verify(outboxRepository).delete(batch);
+        assertEquals(1, ((InMemoryOutboxSink) sink).events().size());
+    }
+
+    private OutboxEvent event(Long id, long taskId) {
+        return new OutboxEvent(id, taskId, "TASK_UPDATED", "{}", Instant.now().minusSeconds(30));
+    }
+}
@@ -0,0 +1,69 @@
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import com.example.taskmanagement.service.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 1, 3, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    public void execute_ReturnsResultAndRecordsTime() {
+        assertEquals("hash", passwordHashingExecutor.execute(() -> "hash"));
+        assertEquals(1, meterRegistry.get("password.hashing.time").timer().count());
+    }
+
+    @Test
+    public void execute_PropagatesRuntimeException() {
+        assertThrows(IllegalArgumentException.class, () -> passwordHashingExecutor.execute(() -> {
+            throw new IllegalArgumentException("bad");
+        }));
+    }
+
+    @Test
+    public void execute_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One call occupies the only worker, the next one fills the queue
+            callers.submit(() -> passwordHashingExecutor.execute(() -> {
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> passwordHashingExecutor.execute(() -> true));
+            while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                    () -> passwordHashingExecutor.execute(() -> true));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import com.example.taskmanagement.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, List.of(firstReplica, secondReplica), Duration.ofMinutes(1));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void readWriteTransactionsUsePrimary() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    public void readOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(firstConnection, dataSource.getConnection());
+        assertSame(secondConnection, dataSource.getConnection());
+        assertSame(firstConnection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    public void failingReplicaIsEjectedUntilHealthy() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(secondConnection, dataSource.getConnection());
+        assertEquals(1, dataSource.getHealthyReplicas());
+        assertSame(secondConnection, dataSource.getConnection());
+
+        reset(firstReplica);
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(firstConnection.isValid(anyInt())).thenReturn(true);
+        when(secondConnection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkReplicas();
+
+        assertEquals(2, dataSource.getHealthyReplicas());
+    }
+
+    @Test
+    public void fallsBackToPrimaryWithoutHealthyReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("down"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    public void writerReadsFromPrimaryAfterCommit() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@example.com", null, List.of()));
+        dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader@example.com", null, List.of()));
+        assertNotSame(primaryConnection, dataSource.getConnection());
+    }
+}
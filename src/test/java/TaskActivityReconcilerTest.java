@@ -0,0 +1,72 @@
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.service.TaskActivityReconciler;
+import com.example.taskmanagement.service.TaskSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TaskActivityReconcilerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TaskActivityReconciler reconciler;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reconciler, "chunkSize", 2);
+    }
+
+    @Test
+    public void reconcile_RepairsDriftedTasksInIdRangeChunks() {
+        when(taskRepository.findCommentActivityDrift()).thenReturn(List.of(3L, 8L, 20L, 21L, 40L));
+        when(taskRepository.reconcileCommentActivity(anyLong(), anyLong())).thenReturn(2, 1, 1);
+
+        reconciler.reconcile();
+
+        InOrder inOrder = inOrder(taskRepository, transactionManager);
+        inOrder.verify(taskRepository).reconcileCommentActivity(3L, 8L);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(taskRepository).reconcileCommentActivity(20L, 21L);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(taskRepository).reconcileCommentActivity(40L, 40L);
+        inOrder.verify(transactionManager).commit(any());
+        verify(transactionManager, times(3)).getTransaction(any());
+        List.of(3L, 8L, 20L, 21L, 40L).forEach(id -> verify(taskRepository).evictCached(id));
+        verify(taskSearchIndex).rebuild();
+        assertEquals(4.0, meterRegistry.get("tasks.activity.corrections").counter().count());
+    }
+
+    @Test
+    public void reconcile_NoDriftWritesNothing() {
+        when(taskRepository.findCommentActivityDrift()).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(taskRepository, never()).reconcileCommentActivity(anyLong(), anyLong());
+        verifyNoInteractions(transactionManager, taskSearchIndex);
+        assertEquals(0.0, meterRegistry.get("tasks.activity.corrections").counter().count());
+    }
+}
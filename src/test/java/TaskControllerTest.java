@@ -1,8 +1,12 @@
 import com.example.taskmanagement.controller.TaskController;
+import com.example.taskmanagement.dto.BulkUpdateResult;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskSummary;
 import com.example.taskmanagement.model.Priority;
 import com.example.taskmanagement.model.Status;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,17 +16,26 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TaskControllerTest {
@@ -30,6 +43,9 @@ public class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskExportService taskExportService;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -38,6 +54,7 @@ public class TaskControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(taskController, "exportTimeout", Duration.ofHours(1));
         mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
     }
 
@@ -79,9 +96,11 @@ public class TaskControllerTest {
         task.setPriority(Priority.HIGH);
         task.setAuthor(new User());
         task.setAssignee(new User());
+        task.setVersion(3L);
         when(taskService.getTaskById(id)).thenReturn(Optional.of(task));
         mockMvc.perform(get("/tasks/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id").value(id)) // Проверяем значение id в ответе
                 .andExpect(jsonPath("$.title").value("Sample Task")) // Проверяем значение title
                 .andExpect(jsonPath("$.description").value("This is a sample task description.")) // Проверяем значение description
@@ -92,6 +111,32 @@ public class TaskControllerTest {
     }
 
 
+    @Test
+    public void getTaskById_NotModified() throws Exception {
+        Long id = 1L;
+        when(taskService.getTaskVersion(id)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+        verify(taskService, never()).getTaskById(any());
+    }
+
+    @Test
+    public void getTaskById_ChangedSinceETag() throws Exception {
+        Long id = 1L;
+        Task task = new Task();
+        task.setId(id);
+        task.setVersion(4L);
+        when(taskService.getTaskVersion(id)).thenReturn(Optional.of(4L));
+        when(taskService.getTaskById(id)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
     @Test
     public void getTaskById_NotFound() throws Exception {
         Long id = 1L;
@@ -142,4 +187,46 @@ public class TaskControllerTest {
                         .principal(principal))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    public void getTasks_ReturnsCursorPage() throws Exception {
+        TaskSummary task = new TaskSummary();
+        task.setId(1L);
+        when(taskService.getTasks(null, 1, "id"))
+                .thenReturn(new ResponseEntity<>(new CursorPage<>(List.of(task), "aWQ6MQ"), HttpStatus.OK));
+
+        mockMvc.perform(get("/tasks").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.next").value("aWQ6MQ"));
+    }
+
+    @Test
+    public void assignTasksToUser_ReturnsResultPerId() throws Exception {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("author@example.com");
+        Map<Long, BulkUpdateResult> results = new LinkedHashMap<>();
+        results.put(1L, BulkUpdateResult.UPDATED);
+        results.put(2L, BulkUpdateResult.FORBIDDEN);
+        doReturn(new ResponseEntity<>(results, HttpStatus.OK))
+                .when(taskService).assignTasksToUser(List.of(1L, 2L), "assignee@example.com", principal);
+
+        mockMvc.perform(patch("/tasks/assign")
+                        .param("assigneeEmail", "assignee@example.com")
+                        .contentType("application/json")
+                        .content("[1, 2]")
+                        .principal(principal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value("UPDATED"))
+                .andExpect(jsonPath("$.2").value("FORBIDDEN"));
+    }
+
+    @Test
+    public void exportTasks_UsesItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofHours(1).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
 }
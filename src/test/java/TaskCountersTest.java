@@ -0,0 +1,170 @@
+import com.example.taskmanagement.dto.TaskCounts;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskCounterRepository;
+import com.example.taskmanagement.repository.TaskCounterRepository.Counter;
+import com.example.taskmanagement.service.TaskCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskCountersTest {
+
+    @Mock
+    private TaskCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TaskCounters taskCounters;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void created_CountsAuthorAndAssignee() {
+        taskCounters.created(List.of(task(1L, 2L, Status.PENDING, Priority.HIGH), task(1L, null, Status.PENDING, Priority.LOW)));
+
+        TaskCounts authored = taskCounters.counts(1L, TaskCounterRepository.AUTHOR);
+        assertEquals(2, authored.getTotal());
+        assertEquals(2L, authored.getByStatus().get(Status.PENDING));
+        assertEquals(0L, authored.getByStatus().get(Status.COMPLETED));
+        assertEquals(1L, authored.getByPriority().get(Priority.LOW));
+        assertEquals(1, taskCounters.counts(2L, TaskCounterRepository.ASSIGNEE).getTotal());
+        verify(counterRepository).adjust(argThat(rows -> rows.size() == 3));
+    }
+
+    @Test
+    public void changed_MovesCountBetweenStatuses() {
+        Task task = task(1L, 2L, Status.PENDING, Priority.HIGH);
+        taskCounters.created(List.of(task));
+        TaskCounters.Snapshot before = TaskCounters.snapshot(task);
+        task.setStatus(Status.COMPLETED);
+
+        taskCounters.changed(before, task);
+
+        TaskCounts assigned = taskCounters.counts(2L, TaskCounterRepository.ASSIGNEE);
+        assertEquals(1, assigned.getTotal());
+        assertEquals(0L, assigned.getByStatus().get(Status.PENDING));
+        assertEquals(1L, assigned.getByStatus().get(Status.COMPLETED));
+    }
+
+    @Test
+    public void changed_WithoutCountedChangeWritesNothing() {
+        Task task = task(1L, 2L, Status.PENDING, Priority.HIGH);
+
+        taskCounters.changed(TaskCounters.snapshot(task), task);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    public void deleted_DecrementsCounts() {
+        Task task = task(1L, null, Status.IN_PROGRESS, Priority.MEDIUM);
+        taskCounters.created(List.of(task));
+
+        taskCounters.deleted(TaskCounters.snapshot(task));
+
+        assertEquals(0, taskCounters.counts(1L, TaskCounterRepository.AUTHOR).getTotal());
+    }
+
+    @Test
+    public void reconcile_SetsDriftedCountersToTheRecount() {
+        when(counterRepository.findAll()).thenReturn(List.of(
+                new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2),
+                new Counter(1L, TaskCounterRepository.AUTHOR, Status.COMPLETED, Priority.LOW, 1)));
+        when(counterRepository.countFromTasks()).thenReturn(List.of(
+                new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 3)));
+        when(counterRepository.correct(any(), anyLong())).thenReturn(true);
+
+        taskCounters.reconcile();
+
+        verify(counterRepository).correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2), 3);
+        verify(counterRepository).correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.COMPLETED, Priority.LOW, 1), 0);
+        verify(counterRepository, never()).adjust(any());
+        assertEquals(2.0, meterRegistry.counter("tasks.counters.corrections").count());
+    }
+
+    @Test
+    public void reconcile_CountsOnlyCorrectionsThatApplied() {
+        when(counterRepository.findAll()).thenReturn(List.of(
+                new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2)));
+        when(counterRepository.countFromTasks()).thenReturn(List.of());
+
+        taskCounters.reconcile();
+
+        verify(counterRepository).correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2), 0);
+        assertEquals(0.0, meterRegistry.counter("tasks.counters.corrections").count());
+    }
+
+    @Test
+    public void reconcile_LeavesConsistentTableAlone() {
+        Counter actual = new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 3);
+        when(counterRepository.findAll()).thenReturn(List.of(actual));
+        when(counterRepository.countFromTasks()).thenReturn(List.of(actual));
+
+        taskCounters.reconcile();
+
+        verify(counterRepository, never()).correct(any(), anyLong());
+        assertEquals(0.0, meterRegistry.counter("tasks.counters.corrections").count());
+    }
+
+    @Test
+    public void reconcile_BringsViewInLineWithTable() {
+        taskCounters.created(List.of(task(1L, null, Status.PENDING, Priority.HIGH), task(1L, null, Status.COMPLETED, Priority.LOW)));
+        Counter stored = new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 3);
+        when(counterRepository.findAll()).thenReturn(List.of(stored));
+        when(counterRepository.countFromTasks()).thenReturn(List.of(stored));
+
+        taskCounters.reconcile();
+
+        TaskCounts authored = taskCounters.counts(1L, TaskCounterRepository.AUTHOR);
+        assertEquals(3L, authored.getByStatus().get(Status.PENDING));
+        assertEquals(0L, authored.getByStatus().get(Status.COMPLETED));
+        assertEquals(2.0, meterRegistry.counter("tasks.counters.view-corrections").count());
+    }
+
+    @Test
+    public void reconcile_LeavesViewDriftThatSettles() {
+        taskCounters.created(List.of(task(1L, null, Status.PENDING, Priority.HIGH)));
+        Counter stored = new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2);
+        when(counterRepository.countFromTasks()).thenReturn(List.of(stored));
+        // The third read finds the change that had already committed to the table in the view too
+        when(counterRepository.findAll()).thenReturn(List.of(stored), List.of(stored)).thenAnswer(invocation -> {
+            taskCounters.created(List.of(task(1L, null, Status.PENDING, Priority.HIGH)));
+            return List.of(stored);
+        });
+
+        taskCounters.reconcile();
+
+        assertEquals(2L, taskCounters.counts(1L, TaskCounterRepository.AUTHOR).getByStatus().get(Status.PENDING));
+        assertEquals(0.0, meterRegistry.counter("tasks.counters.view-corrections").count());
+    }
+
+    private static Task task(Long authorId, Long assigneeId, Status status, Priority priority) {
+        Task task = new Task();
+        task.setAuthor(new User(authorId, "author@example.com", "password", null));
+        if (assigneeId != null) {
+            task.setAssignee(new User(assigneeId, "assignee@example.com", "password", null));
+        }
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.service.TaskExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TaskExportService taskExportService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+    }
+
+    @Test
+    public void exportTasks_WritesEachTaskFollowedByItsComments() throws Exception {
+        User author = new User(1L, "author@example.com", "hash", null);
+        Task first = task(1L, author);
+        Task second = task(2L, author);
+        Comment onSecond = new Comment();
+        onSecond.setId(10L);
+        onSecond.setText("Looks good");
+        onSecond.setAuthor(author);
+        onSecond.setTask(second);
+        when(taskRepository.streamAllOrderById()).thenReturn(Stream.of(first, second));
+        when(commentRepository.streamAllOrderByTaskId()).thenReturn(Stream.of(onSecond));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals("task", firstLine.get("type").asText());
+        assertEquals(1L, firstLine.get("id").asLong());
+        assertEquals("author@example.com", firstLine.get("authorEmail").asText());
+        assertFalse(firstLine.has("password"));
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        JsonNode comment = objectMapper.readTree(lines[2]);
+        assertEquals("comment", comment.get("type").asText());
+        assertEquals(2L, comment.get("taskId").asLong());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        verify(entityManager).detach(onSecond);
+        verify(session).setCacheMode(CacheMode.IGNORE);
+        verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    private Task task(Long id, User author) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setAuthor(author);
+        return task;
+    }
+}
@@ -0,0 +1,117 @@
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.service.TaskSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TaskSearchIndex();
+        index.put(task(1L, "Quarterly report", "Prepare the finance numbers"));
+        index.put(task(2L, "Fix login page", "Users cannot log in after the report export"));
+        index.put(task(3L, "Team offsite", "Book a venue"));
+    }
+
+    @Test
+    public void search_RanksTitleMatchesFirst() {
+        Page<TaskSummary> hits = index.search("report", PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L, 2L), ids(hits));
+        assertEquals(2, hits.getTotalElements());
+    }
+
+    @Test
+    public void search_MatchesPrefixesCaseInsensitively() {
+        assertEquals(List.of(1L), ids(index.search("QUART", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    public void search_Paginates() {
+        Page<TaskSummary> second = index.search("report", PageRequest.of(1, 1));
+
+        assertEquals(List.of(2L), ids(second));
+        assertEquals(2, second.getTotalElements());
+        assertTrue(index.search("report", PageRequest.of(2, 1)).getContent().isEmpty());
+    }
+
+    @Test
+    public void put_ReplacesPreviousVersion() {
+        index.put(task(1L, "Annual budget", null));
+
+        assertEquals(List.of(2L), ids(index.search("report", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(index.search("budget", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    public void remove_DropsTask() {
+        index.remove(3L);
+
+        assertTrue(index.search("venue", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    public void onCommentsChanged_UpdatesStoredSummary() {
+        Instant at = Instant.parse("2024-05-01T10:00:00Z");
+        index.onCommentsChanged(3L, 1, at);
+        index.onCommentsChanged(3L, 1, at.minusSeconds(60));
+        index.onCommentsChanged(3L, -1, null);
+
+        TaskSummary hit = index.search("venue", PageRequest.of(0, 10)).getContent().get(0);
+        assertEquals(1, hit.getCommentCount());
+        assertEquals(at, hit.getLastActivityAt());
+    }
+
+    @Test
+    public void rebuild_KeepsChangesMadeWhileReadingSnapshot() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+        // The snapshot still has the old rows for 1 and 3, which change while it is being read
+        when(taskRepository.streamSummariesOrderById()).thenReturn(Stream.of(
+                task(1L, "Quarterly report", "Prepare the finance numbers"),
+                task(2L, "Fix login page", "Users cannot log in after the report export"),
+                task(3L, "Team offsite", "Book a venue"),
+                task(4L, "Archive mailbox", null)
+        ).peek(task -> {
+            if (task.getId() == 2L) {
+                index.put(task(1L, "Annual budget", null));
+                index.remove(3L);
+            }
+        }));
+
+        index.rebuild();
+
+        assertEquals(List.of(1L), ids(index.search("budget", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(index.search("report", PageRequest.of(0, 10))));
+        assertTrue(index.search("venue", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(4L), ids(index.search("mailbox", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    public void search_IgnoresQueryWithoutTerms() {
+        assertTrue(index.search("  --  ", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static TaskSummary task(Long id, String title, String description) {
+        return new TaskSummary(id, title, description, Status.PENDING, Priority.MEDIUM, "author@example.com", null, 0, null);
+    }
+
+    private static List<Long> ids(Page<TaskSummary> page) {
+        return page.getContent().stream().map(TaskSummary::getId).toList();
+    }
+}
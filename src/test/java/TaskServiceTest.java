@@ -1,21 +1,54 @@
+import com.example.taskmanagement.dto.BulkUpdateResult;
+import com.example.taskmanagement.dto.ChangeType;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskCounts;
+import com.example.taskmanagement.dto.TaskStats;
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
 import com.example.taskmanagement.model.Status;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskCounterRepository;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.service.ChangeFeed;
+import com.example.taskmanagement.service.CountCache;
+import com.example.taskmanagement.service.TaskCounters;
+import com.example.taskmanagement.service.TaskCursor;
+import com.example.taskmanagement.service.TaskOutbox;
+import com.example.taskmanagement.service.TaskSearchIndex;
+import com.example.taskmanagement.service.TaskSort;
 import com.example.taskmanagement.service.TaskService;
 import com.example.taskmanagement.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.validation.BindingResult;
 import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,12 +60,34 @@ public class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CountCache countCache = new CountCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(10));
+
     @InjectMocks
     private TaskService taskService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(taskService, "maxBatchSize", 2);
     }
 
     @Test
@@ -52,6 +107,7 @@ public class TaskServiceTest {
         assertNotNull(response.getBody());
         assertEquals(author, ((Task) response.getBody()).getAuthor());
         verify(taskRepository).save(task);
+        verify(taskSearchIndex).onSaved(task);
     }
 
     @Test
@@ -123,6 +179,8 @@ public class TaskServiceTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(taskRepository).deleteById(id);
+        verify(changeFeed).taskDeleted(eq(id), any());
+        verify(taskOutbox).taskDeleted(id);
     }
 
     @Test
@@ -144,21 +202,197 @@ public class TaskServiceTest {
         Long id = 1L;
         Status status = Status.COMPLETED;
         Task task = new Task();
+        task.setId(id);
+        task.setStatus(Status.PENDING);
+        task.setVersion(2L);
         User assignee = new User();
+        assignee.setId(4L);
         UserDetails userDetails = mock(UserDetails.class);
 
         when(userDetails.getUsername()).thenReturn("user@example.com");
         when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(assignee, HttpStatus.OK));
         when(taskRepository.findById(id)).thenReturn(Optional.of(task));
         task.setAssignee(assignee);
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.updateStatus(task, 4L, status)).thenReturn(true);
 
         ResponseEntity<Task> response = taskService.updateTaskStatus(id, status, userDetails);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(status, ((Task) response.getBody()).getStatus());
-        verify(taskRepository).save(task);
+        assertEquals(3L, response.getBody().getVersion());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository).evictCached(id);
+        verify(taskCounters).changed(new TaskCounters.Snapshot(null, 4L, Status.PENDING, null), task);
+        verify(changeFeed).taskChanged(ChangeType.TASK_STATUS_CHANGED, task, 4L);
+        verify(taskOutbox).taskChanged(ChangeType.TASK_STATUS_CHANGED, task);
+    }
+
+    @Test
+    public void updateTaskStatus_RereadsAfterConcurrentChange() {
+        Long id = 1L;
+        User assignee = new User();
+        assignee.setId(4L);
+        Task stale = new Task();
+        stale.setId(id);
+        stale.setStatus(Status.PENDING);
+        stale.setAssignee(assignee);
+        stale.setVersion(2L);
+        Task fresh = new Task();
+        fresh.setId(id);
+        fresh.setStatus(Status.IN_PROGRESS);
+        fresh.setAssignee(assignee);
+        fresh.setVersion(3L);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(assignee, HttpStatus.OK));
+        when(taskRepository.findById(id)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(taskRepository.updateStatus(stale, 4L, Status.COMPLETED)).thenReturn(false);
+        when(taskRepository.updateStatus(fresh, 4L, Status.COMPLETED)).thenReturn(true);
+
+        ResponseEntity<Task> response = taskService.updateTaskStatus(id, Status.COMPLETED, userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskCounters).changed(new TaskCounters.Snapshot(null, 4L, Status.IN_PROGRESS, null), fresh);
+        verify(taskCounters, times(1)).changed(any(), any());
+    }
+
+    @Test
+    public void updateTaskStatus_NotAssignee() {
+        Long id = 1L;
+        User assignee = new User();
+        assignee.setId(4L);
+        User other = new User();
+        other.setId(5L);
+        Task task = new Task();
+        task.setAssignee(assignee);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("other@example.com");
+        when(userService.getUserByEmail("other@example.com")).thenReturn(new ResponseEntity<>(other, HttpStatus.OK));
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+
+        assertThrows(AccessDeniedException.class, () -> taskService.updateTaskStatus(id, Status.COMPLETED, userDetails));
+        verify(taskRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    public void updateTaskStatus_GivesUpAfterRepeatedConflicts() {
+        Long id = 1L;
+        User assignee = new User();
+        assignee.setId(4L);
+        Task task = new Task();
+        task.setAssignee(assignee);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(assignee, HttpStatus.OK));
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+        when(taskRepository.updateStatus(task, 4L, Status.COMPLETED)).thenReturn(false);
+
+        ResponseEntity<Task> response = taskService.updateTaskStatus(id, Status.COMPLETED, userDetails);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        verify(taskRepository, times(3)).updateStatus(task, 4L, Status.COMPLETED);
+        verifyNoInteractions(taskCounters);
+    }
+
+    @Test
+    public void updateTaskStatuses_ReportsResultPerId() {
+        User assignee = new User(4L, "assignee@example.com", "password", Role.ASSIGNEE);
+        User other = new User(5L, "other@example.com", "password", Role.ASSIGNEE);
+        Task updated = bulkTask(1L, assignee);
+        Task foreign = bulkTask(2L, other);
+        Task conflicting = bulkTask(4L, assignee);
+        ReflectionTestUtils.setField(taskService, "maxBatchSize", 5);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("assignee@example.com");
+        when(userService.getUserByEmail("assignee@example.com")).thenReturn(new ResponseEntity<>(assignee, HttpStatus.OK));
+        when(taskRepository.findAllWithUsersByIdIn(Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(conflicting, updated, foreign));
+        when(taskRepository.updateStatuses(List.of(updated, conflicting), 4L, Status.COMPLETED)).thenReturn(Set.of(1L));
+
+        ResponseEntity<?> response = taskService.updateTaskStatuses(List.of(1L, 2L, 3L, 4L, 1L), Status.COMPLETED, userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(1L, 2L, 3L, 4L), List.copyOf(((Map<?, ?>) response.getBody()).keySet()));
+        assertEquals(Map.of(1L, BulkUpdateResult.UPDATED, 2L, BulkUpdateResult.FORBIDDEN,
+                3L, BulkUpdateResult.NOT_FOUND, 4L, BulkUpdateResult.CONFLICT), response.getBody());
+        assertEquals(Status.COMPLETED, updated.getStatus());
+        assertEquals(Status.PENDING, conflicting.getStatus());
+        verify(taskCounters).changedAll(List.of(new TaskCounters.Snapshot(null, 4L, Status.PENDING, null)), List.of(updated));
+        verify(taskRepository).evictCached(1L);
+        verify(taskRepository, never()).evictCached(4L);
+    }
+
+    @Test
+    public void updateTaskStatuses_RejectsOversizedRequest() {
+        ResponseEntity<?> response = taskService.updateTaskStatuses(List.of(1L, 2L, 3L), Status.COMPLETED, mock(UserDetails.class));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void assignTasksToUser_AssigneeWithoutRole() {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("author@example.com");
+        when(userService.getUserByEmail("author@example.com"))
+                .thenReturn(new ResponseEntity<>(new User(3L, "author@example.com", "password", Role.AUTHOR), HttpStatus.OK));
+        when(userService.getUserByEmail("someone@example.com"))
+                .thenReturn(new ResponseEntity<>(new User(6L, "someone@example.com", "password", Role.AUTHOR), HttpStatus.OK));
+
+        ResponseEntity<?> response = taskService.assignTasksToUser(List.of(1L), "someone@example.com", principal);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static Task bulkTask(Long id, User assignee) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(Status.PENDING);
+        task.setAssignee(assignee);
+        task.setVersion(0L);
+        return task;
+    }
+
+    @Test
+    public void assignTaskToUser_Success() {
+        Long id = 1L;
+        User author = new User(3L, "author@example.com", "password", Role.AUTHOR);
+        User assignee = new User(4L, "assignee@example.com", "password", Role.ASSIGNEE);
+        Task task = new Task();
+        task.setId(id);
+        task.setAuthor(author);
+        task.setVersion(0L);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("author@example.com");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+        when(userService.getUserByEmail("author@example.com")).thenReturn(new ResponseEntity<>(author, HttpStatus.OK));
+        when(userService.getUserByEmail("assignee@example.com")).thenReturn(new ResponseEntity<>(assignee, HttpStatus.OK));
+        when(taskRepository.updateAssignee(task, 3L, assignee)).thenReturn(true);
+
+        ResponseEntity<?> response = taskService.assignTaskToUser(id, "assignee@example.com", principal);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(assignee, ((Task) response.getBody()).getAssignee());
+        verify(taskCounters).changed(new TaskCounters.Snapshot(3L, null, null, null), task);
+        verify(taskRepository).evictCached(id);
+    }
+
+    @Test
+    public void assignTaskToUser_NotAuthor() {
+        Long id = 1L;
+        Task task = new Task();
+        task.setAuthor(new User(3L, "author@example.com", "password", Role.AUTHOR));
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("other@example.com");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+        when(userService.getUserByEmail("other@example.com"))
+                .thenReturn(new ResponseEntity<>(new User(5L, "other@example.com", "password", Role.AUTHOR), HttpStatus.OK));
+
+        ResponseEntity<?> response = taskService.assignTaskToUser(id, "assignee@example.com", principal);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(taskRepository, never()).updateAssignee(any(), any(), any());
     }
 
     @Test
@@ -172,4 +406,235 @@ public class TaskServiceTest {
         assertThrows(UsernameNotFoundException.class, () -> taskService.updateTaskStatus(id, status, userDetails));
         verify(taskRepository, never()).save(any(Task.class));
     }
+
+    @Test
+    public void getTasks_ReturnsNextCursorWhenMoreRowsExist() {
+        TaskSummary first = new TaskSummary();
+        first.setId(1L);
+        TaskSummary second = new TaskSummary();
+        second.setId(2L);
+        TaskSummary third = new TaskSummary();
+        third.setId(3L);
+        when(taskRepository.findSummariesAfterId(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(first, second, third));
+
+        ResponseEntity<CursorPage<TaskSummary>> response = taskService.getTasks(null, 2, "id");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(first, second), response.getBody().getItems());
+        assertEquals(2L, TaskCursor.decode(response.getBody().getNext()).getLastId());
+    }
+
+    @Test
+    public void getTasks_LastPageHasNoCursor() {
+        TaskSummary task = new TaskSummary();
+        task.setId(5L);
+        String cursor = new TaskCursor(TaskCursor.SORT_ID, null, 4L).encode();
+        when(taskRepository.findSummariesAfterId(4L, PageRequest.of(0, TaskService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(task));
+
+        ResponseEntity<CursorPage<TaskSummary>> response = taskService.getTasks(cursor, null, "id");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(task), response.getBody().getItems());
+        assertNull(response.getBody().getNext());
+    }
+
+    @Test
+    public void getTasks_PrioritySortContinuesIntoNextPriority() {
+        TaskSummary high = new TaskSummary();
+        high.setId(7L);
+        high.setPriority(Priority.HIGH);
+        TaskSummary medium = new TaskSummary();
+        medium.setId(2L);
+        medium.setPriority(Priority.MEDIUM);
+        when(taskRepository.findSummariesByPriorityAfterId(Priority.HIGH, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(high));
+        when(taskRepository.findSummariesByPriorityAfterId(Priority.MEDIUM, 0L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(medium));
+
+        ResponseEntity<CursorPage<TaskSummary>> response = taskService.getTasks(null, 1, "priority");
+
+        assertEquals(List.of(high), response.getBody().getItems());
+        TaskCursor next = TaskCursor.decode(response.getBody().getNext());
+        assertEquals(Priority.HIGH, next.getPriority());
+        assertEquals(7L, next.getLastId());
+    }
+
+    @Test
+    public void getTasks_InvalidCursor() {
+        ResponseEntity<CursorPage<TaskSummary>> response = taskService.getTasks("not-a-cursor", 10, "id");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void createTasks_Success() {
+        Task first = new Task();
+        first.setId(99L);
+        Task second = new Task();
+        User author = new User();
+        List<Task> tasks = List.of(first, second);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("user@example.com");
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(author, HttpStatus.OK));
+        when(taskRepository.saveAll(tasks)).thenReturn(tasks);
+
+        ResponseEntity<?> response = taskService.createTasks(tasks, principal);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNull(first.getId());
+        assertEquals(author, first.getAuthor());
+        assertEquals(author, second.getAuthor());
+        verify(taskRepository).saveAll(tasks);
+    }
+
+    @Test
+    public void createTasks_TooMany() {
+        Principal principal = mock(Principal.class);
+
+        ResponseEntity<?> response = taskService.createTasks(List.of(new Task(), new Task(), new Task()), principal);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createTasks_ValidationErrors() {
+        Task task = new Task();
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("user@example.com");
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(new User(), HttpStatus.OK));
+        ConstraintViolation<Task> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Title cannot be blank");
+        when(validator.validate(task)).thenReturn(Set.of(violation));
+
+        ResponseEntity<?> response = taskService.createTasks(List.of(task), principal);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Title cannot be blank", response.getBody());
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void getTasksByAuthor_TotalComesFromCachedCount() {
+        User author = new User(3L, "author@example.com", "password", null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(userService.getUserByEmail("author@example.com")).thenReturn(new ResponseEntity<>(author, HttpStatus.OK));
+        when(taskRepository.findSummarySliceByAuthorId(3L, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new TaskSummary()), pageable, true));
+        when(taskRepository.countByAuthorId(3L)).thenReturn(5L);
+
+        taskService.getTasksByAuthor("author@example.com", pageable, true);
+        ResponseEntity<Slice<TaskSummary>> response = taskService.getTasksByAuthor("author@example.com", pageable, true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5L, ((Page<TaskSummary>) response.getBody()).getTotalElements());
+        verify(taskRepository, times(1)).countByAuthorId(3L);
+    }
+
+    @Test
+    public void getTasksByAuthor_SliceModeSkipsCount() {
+        User author = new User(3L, "author@example.com", "password", null);
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<TaskSummary> slice = new SliceImpl<>(List.of(new TaskSummary()), pageable, true);
+        when(userService.getUserByEmail("author@example.com")).thenReturn(new ResponseEntity<>(author, HttpStatus.OK));
+        when(taskRepository.findSummarySliceByAuthorId(3L, pageable)).thenReturn(slice);
+
+        ResponseEntity<Slice<TaskSummary>> response = taskService.getTasksByAuthor("author@example.com", pageable, false);
+
+        assertEquals(slice, response.getBody());
+        verify(taskRepository, never()).countByAuthorId(any());
+    }
+
+    @Test
+    public void getTasksByAssignee_UserNotFound() {
+        when(userService.getUserByEmail("missing@example.com")).thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+
+        ResponseEntity<Slice<TaskSummary>> response = taskService.getTasksByAssignee("missing@example.com", PageRequest.of(0, 10), true);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(taskRepository, never()).findSummarySliceByAssigneeId(any(), any());
+    }
+
+    @Test
+    public void searchTasks_CapsPageSize() {
+        Page<TaskSummary> hits = new PageImpl<>(List.of(new TaskSummary()));
+        when(taskSearchIndex.search("report", PageRequest.of(1, TaskService.MAX_PAGE_SIZE))).thenReturn(hits);
+
+        ResponseEntity<Page<TaskSummary>> response = taskService.searchTasks("report", 1, 1000);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(hits, response.getBody());
+    }
+
+    @Test
+    public void searchTasks_BlankQuery() {
+        ResponseEntity<Page<TaskSummary>> response = taskService.searchTasks("  ", 0, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void filterTasks_UsesWhitelistedSort() {
+        User author = new User(3L, "author@example.com", "password", null);
+        Slice<TaskSummary> slice = new SliceImpl<>(List.of(new TaskSummary()));
+        when(userService.getUserByEmail("author@example.com")).thenReturn(new ResponseEntity<>(author, HttpStatus.OK));
+        when(taskRepository.findSummaries(any(), eq(PageRequest.of(2, 10, TaskSort.STATUS.getSort())))).thenReturn(slice);
+
+        ResponseEntity<Slice<TaskSummary>> response = taskService.filterTasks(
+                "author@example.com", null, Set.of(Status.PENDING), null, "status", 2, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slice, response.getBody());
+        verify(userService, never()).getUserByEmail(isNull());
+    }
+
+    @Test
+    public void filterTasks_SortWithoutIndexOrder() {
+        ResponseEntity<Slice<TaskSummary>> response = taskService.filterTasks(
+                null, null, Set.of(Status.PENDING, Status.COMPLETED), null, "priority", 0, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void filterTasks_UnknownSort() {
+        ResponseEntity<Slice<TaskSummary>> response = taskService.filterTasks(null, null, null, null, "title", 0, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void filterTasks_UnknownAssignee() {
+        when(userService.getUserByEmail("missing@example.com")).thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+
+        ResponseEntity<Slice<TaskSummary>> response = taskService.filterTasks(
+                null, "missing@example.com", null, Set.of(Priority.HIGH), "id", 0, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void getTaskStats_ReadsCounters() {
+        User user = new User(3L, "user@example.com", "password", null);
+        TaskCounts authored = new TaskCounts(2, null, null);
+        TaskCounts assigned = new TaskCounts(5, null, null);
+        when(userService.getUserByEmail("user@example.com")).thenReturn(new ResponseEntity<>(user, HttpStatus.OK));
+        when(taskCounters.counts(3L, TaskCounterRepository.AUTHOR)).thenReturn(authored);
+        when(taskCounters.counts(3L, TaskCounterRepository.ASSIGNEE)).thenReturn(assigned);
+
+        ResponseEntity<TaskStats> response = taskService.getTaskStats("user@example.com");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new TaskStats("user@example.com", authored, assigned), response.getBody());
+        verifyNoInteractions(taskRepository);
+    }
 }
@@ -0,0 +1,88 @@
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.time.Duration;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserCache userCache;
+
+    private final User user = new User(1L, "user@example.com", "password", Role.AUTHOR);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void findByEmail_LoadsOnceAcrossRequests() {
+        assertEquals(Optional.of(user), userCache.findByEmail("user@example.com"));
+        assertEquals(Optional.of(user), userCache.findByEmail("user@example.com"));
+        assertEquals(Optional.of(user), userCache.findById(1L));
+
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+        verify(userRepository, never()).findById(1L);
+        assertEquals(1.0, meterRegistry.get("users.resolution").tag("result", "miss").counter().count());
+        assertEquals(2.0, meterRegistry.get("users.resolution").tag("result", "cache-hit").counter().count());
+    }
+
+    @Test
+    public void findByEmail_MemoizesWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        userCache.findByEmail("user@example.com");
+        userCache.findByEmail("user@example.com");
+        userCache.findById(1L);
+
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+        assertEquals(2.0, meterRegistry.get("users.resolution").tag("result", "request-hit").counter().count());
+    }
+
+    @Test
+    public void findByEmail_UnknownUserIsNotCached() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(userCache.findByEmail("missing@example.com").isEmpty());
+        assertTrue(userCache.findByEmail("missing@example.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("missing@example.com");
+    }
+
+    @Test
+    public void invalidate_DropsCachedAndMemoizedEntries() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userCache.findByEmail("user@example.com");
+
+        userCache.invalidate(1L);
+        userCache.findByEmail("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+}
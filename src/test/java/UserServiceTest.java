@@ -1,13 +1,18 @@
+import com.example.taskmanagement.exception.ServiceUnavailableException;
 import com.example.taskmanagement.model.Role;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
 import com.example.taskmanagement.service.JwtService;
+import com.example.taskmanagement.service.PasswordHashingExecutor;
+import com.example.taskmanagement.service.UserCache;
 import com.example.taskmanagement.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +39,12 @@ public class UserServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private UserCache userCache;
+
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 4, 1, new SimpleMeterRegistry());
+
     @Mock
     private BindingResult bindingResult;
 
@@ -88,11 +99,19 @@ public class UserServiceTest {
         assertEquals("Invalid credentials", response.getBody());
     }
 
+    @Test
+    public void loginUser_HashingSaturated() {
+        doThrow(new ServiceUnavailableException("busy", 1)).when(passwordHashingExecutor).execute(any());
+
+        assertThrows(ServiceUnavailableException.class, () -> userService.loginUser("email@example.com", "password"));
+        verify(jwtService, never()).generateToken(any());
+    }
+
     @Test
     public void getUserById_Success() {
         Long id = 1L;
         User user = new User(id, "email@example.com", "password", Role.ASSIGNEE);
-        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+        when(userCache.findById(id)).thenReturn(Optional.of(user));
 
         ResponseEntity<User> response = userService.getUserById(id);
 
@@ -103,7 +122,7 @@ public class UserServiceTest {
     @Test
     public void getUserById_NotFound() {
         Long id = 1L;
-        when(userRepository.findById(id)).thenReturn(Optional.empty());
+        when(userCache.findById(id)).thenReturn(Optional.empty());
 
         ResponseEntity<User> response = userService.getUserById(id);
 
@@ -125,6 +144,7 @@ public class UserServiceTest {
         User updatedUser = (User) response.getBody();
         assertNotNull(updatedUser);
         assertEquals(id, updatedUser.getId());
+        verify(userCache).invalidate(id);
     }
 
     @Test
@@ -148,6 +168,7 @@ public class UserServiceTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(userRepository).deleteById(id);
+        verify(userCache).invalidate(id);
     }
 
     @Test
@@ -0,0 +1,131 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Posts comments through the full stack. The request body names the task by id only, so the
+ * service has to attach the persistent task before saving. Long comments keep their full text
+ * outside the entity, whose version still has to change with it for the text ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CommentApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        author = userRepository.findByEmail("comment-api@example.com")
+                .orElseGet(() -> userRepository.save(new User(null, "comment-api@example.com", "password", Role.AUTHOR)));
+        task = new Task();
+        task.setTitle("Commented over HTTP");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.MEDIUM);
+        task.setAuthor(author);
+        task = taskRepository.save(task);
+    }
+
+    @Test
+    public void createComment_OnExistingTask() throws Exception {
+        mockMvc.perform(post("/comments")
+                        .with(user(author.getEmail()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Looks good\",\"author\":{\"id\":" + author.getId() + "},\"task\":{\"id\":" + task.getId() + "}}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.text").value("Looks good"));
+
+        assertEquals(1, commentRepository.countByTaskId(task.getId()));
+        assertEquals(1L, jdbcTemplate.queryForObject("select comment_count from task where id = ?", Long.class, task.getId()));
+    }
+
+    @Test
+    public void updateComment_TailEditChangesTextETag() throws Exception {
+        String text = "a".repeat(Comment.PREVIEW_LENGTH + 100);
+        String created = mockMvc.perform(post("/comments")
+                        .with(user(author.getEmail()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"" + text + "\",\"author\":{\"id\":" + author.getId() + "},\"task\":{\"id\":" + task.getId() + "}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+        String etag = readText(mockMvc.perform(get("/comments/" + id + "/text").with(user(author.getEmail())))
+                .andExpect(status().isOk())
+                .andReturn()).getHeader(HttpHeaders.ETAG);
+
+        // Same length, and the preview stays the same: only the stored body changes
+        String edited = text.substring(0, text.length() - 1) + "b";
+        mockMvc.perform(put("/comments/" + id)
+                        .with(user(author.getEmail()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"" + edited + "\",\"author\":{\"id\":" + author.getId() + "},\"task\":{\"id\":" + task.getId() + "}}"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/comments/" + id + "/text")
+                        .with(user(author.getEmail()))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        MockHttpServletResponse response = readText(result);
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(edited, response.getContentAsString());
+    }
+
+    @Test
+    public void createComment_UnknownTask() throws Exception {
+        mockMvc.perform(post("/comments")
+                        .with(user(author.getEmail()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Nobody reads this\",\"author\":{\"id\":" + author.getId() + "},\"task\":{\"id\":" + Long.MAX_VALUE + "}}"))
+                .andExpect(status().isNotFound());
+    }
+
+    // The text streams on another thread, so the response is only safe to read once it finished
+    private MockHttpServletResponse readText(MvcResult result) throws Exception {
+        return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+    }
+}
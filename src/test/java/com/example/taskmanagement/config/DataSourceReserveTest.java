@@ -0,0 +1,112 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * As many concurrent inserting transactions as the pool has connections, each holding its
+ * connection before it needs new ids. Without the reserve pool the id-block fetch finds the pool
+ * empty and every transaction waits on it until the connection timeout.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reserve;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=" + DataSourceReserveTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000",
+        // Admission caps threads at the pool size too, the setting the virtual-threads profile runs with
+        "datasource.admission.enabled=true"
+})
+public class DataSourceReserveTest {
+
+    static final int POOL_SIZE = 3;
+    // More than one allocationSize block, so every transaction needs at least one fetch
+    private static final int TASKS_PER_TRANSACTION = 60;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // The cache regions are shared with the other test contexts, which use a different database
+    @AfterEach
+    public void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void reserveSitsBelowAdmissionControl() {
+        assertInstanceOf(AdmissionControlledDataSource.class, dataSource);
+        assertNotNull(DataSourceUnwrapper.unwrap(dataSource, NestedConnectionDataSource.class));
+    }
+
+    @Test
+    public void concurrentInsertsAtPoolSizeDoNotStarveIdFetches() throws Exception {
+        User author = userRepository.save(new User(null, "reserve-author@example.com", "password", Role.AUTHOR));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CyclicBarrier allHoldConnections = new CyclicBarrier(POOL_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < POOL_SIZE; t++) {
+                futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.count();
+                    await(allHoldConnections);
+                    for (int i = 0; i < TASKS_PER_TRANSACTION; i++) {
+                        Task task = new Task();
+                        task.setTitle("Reserve task " + i);
+                        task.setStatus(Status.PENDING);
+                        task.setPriority(Priority.LOW);
+                        task.setAuthor(author);
+                        taskRepository.save(task);
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(POOL_SIZE * TASKS_PER_TRANSACTION, taskRepository.countByAuthorId(author.getId()));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots with the second-level cache URI pointing into a jar, as it does when the application
+ * runs from its packaged jar. Caffeine only parses file: URIs itself and otherwise loads
+ * application.conf from the classpath, so the regions must be defined in a file of that name.
+ */
+@SpringBootTest
+public class PackagedCacheConfigTest {
+
+    private static final String CACHE_URI = "spring.jpa.properties.hibernate.javax.cache.uri";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void packagedCacheUri(DynamicPropertyRegistry registry) throws IOException {
+        String name = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties")).getProperty(CACHE_URI);
+        Path jar = Files.createTempFile("taskmanagement", ".jar");
+        jar.toFile().deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             InputStream config = new ClassPathResource(name).getInputStream()) {
+            out.putNextEntry(new JarEntry(name));
+            config.transferTo(out);
+        }
+        registry.add(CACHE_URI, () -> "jar:" + jar.toUri() + "!/" + name);
+    }
+
+    @Test
+    public void regionsComeFromTheClasspathConfig() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        CacheManager cacheManager = regionFactory.getCacheManager();
+
+        assertEquals("jar", cacheManager.getURI().getScheme());
+        for (String region : new String[]{"task", "user", "comment"}) {
+            assertNotNull(cacheManager.getCache(region), region);
+        }
+        CaffeineConfiguration<?, ?> task = cacheManager.getCache("task").getConfiguration(CaffeineConfiguration.class);
+        assertEquals(20000L, task.getMaximumSize().orElseThrow());
+    }
+}
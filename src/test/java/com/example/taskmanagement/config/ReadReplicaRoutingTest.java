@@ -0,0 +1,78 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against two embedded databases, the usual one as primary and a second one
+ * as replica. A task that exists only on the replica shows which database served each read, and
+ * that a replica read left nothing in the second-level cache for later primary reads to find.
+ */
+@SpringBootTest(properties = "datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL)
+public class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_TASK = 900001L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    public static void createReplica() {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/mysql").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.update("insert into users (id, email, password, role) values (900001, 'replica@example.com', 'x', 'AUTHOR')");
+        jdbcTemplate.update("insert into task (id, title, status, priority, author_id) "
+                + "values (?, 'Replica task', 'PENDING', 'HIGH', 900001)", REPLICA_ONLY_TASK);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void readOnlyServiceMethodsUseReplica() {
+        assertTrue(taskService.getTaskById(REPLICA_ONLY_TASK).isPresent());
+        assertFalse(entityManagerFactory.getCache().contains(Task.class, REPLICA_ONLY_TASK));
+        assertTrue(new TransactionTemplate(transactionManager)
+                .execute(status -> taskRepository.findById(REPLICA_ONLY_TASK)).isEmpty());
+    }
+
+    @Test
+    public void writerReadsOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@example.com", null, List.of()));
+        assertTrue(taskService.getTaskById(REPLICA_ONLY_TASK).isPresent());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> taskRepository.count());
+
+        assertTrue(taskService.getTaskById(REPLICA_ONLY_TASK).isEmpty());
+    }
+}
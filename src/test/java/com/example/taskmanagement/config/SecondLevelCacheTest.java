@@ -0,0 +1,167 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskExportService;
+import com.example.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Task> savedTasks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> savedTasks.forEach(task -> {
+            taskRepository.findById(task.getId()).ifPresent(taskRepository::delete);
+            userRepository.deleteById(task.getAuthor().getId());
+            jdbcTemplate.update("delete from task_counter where user_id = ?", task.getAuthor().getId());
+            if (task.getAssignee() != null) {
+                userRepository.deleteById(task.getAssignee().getId());
+                jdbcTemplate.update("delete from task_counter where user_id = ?", task.getAssignee().getId());
+            }
+        }));
+    }
+
+    @Test
+    public void findById_ServedFromCacheAfterCommit() {
+        Long taskId = transactionTemplate.execute(status -> saveTask("cached@example.com").getId());
+        statistics.clear();
+
+        Task task = transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow());
+
+        assertEquals("Cached task", task.getTitle());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("task").getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1.0, meterRegistry.get("hibernate.second.level.cache.hit.ratio").tag("region", "task").gauge().value());
+    }
+
+    @Test
+    public void deleteById_EvictsEntry() {
+        Long taskId = transactionTemplate.execute(status -> saveTask("evicted@example.com").getId());
+        transactionTemplate.executeWithoutResult(status -> taskRepository.deleteById(taskId));
+        statistics.clear();
+
+        assertTrue(transactionTemplate.execute(status -> taskRepository.findById(taskId)).isEmpty());
+        assertEquals(0, statistics.getDomainDataRegionStatistics("task").getHitCount());
+    }
+
+    @Test
+    public void save_UpdatesCachedEntry() {
+        Long taskId = transactionTemplate.execute(status -> saveTask("updated@example.com").getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            task.setStatus(Status.COMPLETED);
+            taskRepository.save(task);
+        });
+        statistics.clear();
+
+        Task task = transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow());
+
+        assertEquals(Status.COMPLETED, task.getStatus());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("task").getHitCount());
+    }
+
+    @Test
+    public void exportTasks_LeavesCacheUntouched() throws IOException {
+        Long taskId = transactionTemplate.execute(status -> saveTask("exported@example.com").getId());
+        entityManagerFactory.getCache().evict(Task.class, taskId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(out);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"id\":" + taskId + ","));
+        assertFalse(entityManagerFactory.getCache().contains(Task.class, taskId));
+    }
+
+    @Test
+    public void updateTaskStatus_EvictsEntryAfterCommit() {
+        Long taskId = transactionTemplate.execute(status -> {
+            Task task = saveTask("status-author@example.com");
+            task.setAssignee(userRepository.save(new User(null, "status-assignee@example.com", "password", Role.ASSIGNEE)));
+            return task.getId();
+        });
+        transactionTemplate.execute(status -> taskRepository.findById(taskId));
+        UserDetails assignee = org.springframework.security.core.userdetails.User
+                .withUsername("status-assignee@example.com").password("password").roles("ASSIGNEE").build();
+
+        ResponseEntity<Task> response = taskService.updateTaskStatus(taskId, Status.COMPLETED, assignee);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("status-assignee@example.com", response.getBody().getAssignee().getEmail());
+        Task reloaded = transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow());
+        assertEquals(Status.COMPLETED, reloaded.getStatus());
+        assertEquals(response.getBody().getVersion(), reloaded.getVersion());
+    }
+
+    private Task saveTask(String authorEmail) {
+        User author = userRepository.save(new User(null, authorEmail, "password", Role.AUTHOR));
+        Task task = new Task();
+        task.setTitle("Cached task");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.HIGH);
+        task.setAuthor(author);
+        savedTasks.add(taskRepository.save(task));
+        return task;
+    }
+}
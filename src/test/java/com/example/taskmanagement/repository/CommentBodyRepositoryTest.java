@@ -0,0 +1,78 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CommentBodyRepository.class)
+public class CommentBodyRepositoryTest {
+
+    @Autowired
+    private CommentBodyRepository commentBodyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Comment comment;
+
+    @BeforeEach
+    public void setUp() {
+        User author = new User(null, "bodies-author@example.com", "password", Role.AUTHOR);
+        entityManager.persist(author);
+        Task task = new Task();
+        task.setTitle("Bodies");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setAuthor(author);
+        entityManager.persist(task);
+        comment = new Comment();
+        comment.setText("Preview");
+        comment.setTextLength(5000);
+        comment.setAuthor(author);
+        comment.setTask(task);
+        entityManager.persist(comment);
+        entityManager.flush();
+    }
+
+    @Test
+    public void save_ReplacesExistingBody() {
+        commentBodyRepository.save(comment.getId(), new byte[]{1, 2, 3});
+        commentBodyRepository.save(comment.getId(), new byte[]{4, 5});
+
+        AtomicReference<byte[]> read = new AtomicReference<>();
+        assertTrue(commentBodyRepository.read(comment.getId(), body -> read.set(body.readAllBytes())));
+        assertArrayEquals(new byte[]{4, 5}, read.get());
+    }
+
+    @Test
+    public void read_MissingBody() {
+        assertFalse(commentBodyRepository.read(comment.getId(), body -> fail("no body expected")));
+    }
+
+    @Test
+    public void deletingCommentDeletesBody() {
+        commentBodyRepository.save(comment.getId(), new byte[]{1});
+
+        jdbcTemplate.update("delete from comment where id = ?", comment.getId());
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from comment_body", Integer.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.repository.TaskCounterRepository.Counter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskCounterRepository.class)
+public class TaskCounterRepositoryTest {
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Test
+    public void adjust_UpsertsAndAccumulates() {
+        counterRepository.adjust(List.of(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2)));
+        counterRepository.adjust(List.of(
+                new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, -1),
+                new Counter(1L, TaskCounterRepository.ASSIGNEE, Status.COMPLETED, Priority.LOW, 1)));
+
+        assertEquals(List.of(
+                        new Counter(1L, TaskCounterRepository.ASSIGNEE, Status.COMPLETED, Priority.LOW, 1),
+                        new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 1)),
+                counterRepository.findAll().stream()
+                        .sorted((a, b) -> a.relation().compareTo(b.relation()))
+                        .toList());
+    }
+
+    @Test
+    public void correct_SetsCounterReadWithTheSameCount() {
+        counterRepository.adjust(List.of(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2)));
+
+        assertTrue(counterRepository.correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2), 5));
+        assertTrue(counterRepository.correct(new Counter(1L, TaskCounterRepository.ASSIGNEE, Status.PENDING, Priority.HIGH, 0), 1));
+
+        assertEquals(List.of(
+                        new Counter(1L, TaskCounterRepository.ASSIGNEE, Status.PENDING, Priority.HIGH, 1),
+                        new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 5)),
+                counterRepository.findAll().stream()
+                        .sorted((a, b) -> a.relation().compareTo(b.relation()))
+                        .toList());
+    }
+
+    @Test
+    public void correct_SkipsCounterChangedSinceRead() {
+        counterRepository.adjust(List.of(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 3)));
+
+        assertFalse(counterRepository.correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 2), 5));
+        assertFalse(counterRepository.correct(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 0), 5));
+
+        assertEquals(List.of(new Counter(1L, TaskCounterRepository.AUTHOR, Status.PENDING, Priority.HIGH, 3)), counterRepository.findAll());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.repository.TaskOutboxRepository.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskOutboxRepository.class)
+public class TaskOutboxRepositoryTest {
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Test
+    public void claimOldest_ReturnsEventsInAppendOrder() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        outboxRepository.append(List.of(
+                new OutboxEvent(null, 7L, "TASK_CREATED", "{\"id\":7}", now),
+                new OutboxEvent(null, 8L, "TASK_CREATED", "{\"id\":8}", now)));
+        outboxRepository.append(List.of(new OutboxEvent(null, 7L, "TASK_DELETED", null, now)));
+
+        List<OutboxEvent> first = outboxRepository.claimOldest(2, now, Duration.ofMinutes(1));
+
+        assertEquals(List.of(7L, 8L), first.stream().map(OutboxEvent::taskId).toList());
+        assertEquals("{\"id\":7}", first.get(0).payload());
+        assertEquals(now, first.get(0).createdAt());
+        assertTrue(first.get(0).id() < first.get(1).id());
+
+        outboxRepository.delete(first);
+        List<OutboxEvent> rest = outboxRepository.claimOldest(2, now, Duration.ofMinutes(1));
+
+        assertEquals(1, rest.size());
+        assertEquals("TASK_DELETED", rest.get(0).type());
+        assertNull(rest.get(0).payload());
+    }
+
+    @Test
+    public void claimOldest_StopsAtAnotherRelaysClaim() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        outboxRepository.append(List.of(
+                new OutboxEvent(null, 7L, "TASK_CREATED", null, now),
+                new OutboxEvent(null, 8L, "TASK_CREATED", null, now)));
+        List<OutboxEvent> claimed = outboxRepository.claimOldest(1, now, Duration.ofMinutes(1));
+
+        assertEquals(List.of(), outboxRepository.claimOldest(2, now.plusSeconds(30), Duration.ofMinutes(1)));
+        assertEquals(claimed, outboxRepository.claimOldest(1, now.plusSeconds(61), Duration.ofMinutes(1)));
+
+        outboxRepository.release(claimed);
+
+        assertEquals(List.of(7L, 8L), outboxRepository.claimOldest(2, now, Duration.ofMinutes(1)).stream()
+                .map(OutboxEvent::taskId).toList());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskSummary;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.TaskSort;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TaskUpdatesTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    private User assignee;
+
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        author = userRepository.save(new User(null, "updates-author@example.com", "password", Role.AUTHOR));
+        assignee = userRepository.save(new User(null, "updates-assignee@example.com", "password", Role.ASSIGNEE));
+        task = new Task();
+        task.setTitle("Conditional update");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.LOW);
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        task = taskRepository.saveAndFlush(task);
+    }
+
+    @Test
+    public void updateStatus_WritesStatusAndVersion() {
+        assertTrue(taskRepository.updateStatus(task, assignee.getId(), Status.COMPLETED));
+
+        assertFalse(entityManager.contains(task));
+        Map<String, Object> row = jdbcTemplate.queryForMap("select status, version from task where id = ?", task.getId());
+        assertEquals("COMPLETED", row.get("status"));
+        assertEquals(task.getVersion() + 1, ((Number) row.get("version")).longValue());
+    }
+
+    @Test
+    public void updateStatus_MissesForOtherUserOrStaleVersion() {
+        assertFalse(taskRepository.updateStatus(task, author.getId(), Status.COMPLETED));
+
+        Task stale = new Task();
+        stale.setId(task.getId());
+        stale.setVersion(task.getVersion() - 1);
+        assertFalse(taskRepository.updateStatus(stale, assignee.getId(), Status.COMPLETED));
+
+        assertEquals("PENDING", jdbcTemplate.queryForObject("select status from task where id = ?", String.class, task.getId()));
+    }
+
+    @Test
+    public void updateAssignee_GuardedByAuthor() {
+        User other = userRepository.saveAndFlush(new User(null, "updates-other@example.com", "password", Role.ASSIGNEE));
+
+        assertFalse(taskRepository.updateAssignee(task, assignee.getId(), other));
+        assertTrue(taskRepository.updateAssignee(task, author.getId(), other));
+
+        assertEquals(other.getId(), jdbcTemplate.queryForObject("select assignee_id from task where id = ?", Long.class, task.getId()));
+    }
+
+    @Test
+    public void updateStatuses_ReportsMatchedRows() {
+        Task second = new Task();
+        second.setTitle("Second");
+        second.setStatus(Status.PENDING);
+        second.setPriority(Priority.LOW);
+        second.setAuthor(author);
+        second.setAssignee(assignee);
+        second = taskRepository.saveAndFlush(second);
+        Task stale = new Task();
+        stale.setId(second.getId());
+        stale.setVersion(second.getVersion() + 1);
+
+        assertEquals(Set.of(task.getId()), taskRepository.updateStatuses(List.of(task, stale), assignee.getId(), Status.COMPLETED));
+
+        assertEquals("COMPLETED", jdbcTemplate.queryForObject("select status from task where id = ?", String.class, task.getId()));
+        assertEquals("PENDING", jdbcTemplate.queryForObject("select status from task where id = ?", String.class, second.getId()));
+    }
+
+    @Test
+    public void commentActivity_AdjustsCountAndShowsInSummaries() {
+        Instant at = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        taskRepository.commentAdded(task.getId(), at.minusSeconds(60));
+        taskRepository.commentAdded(task.getId(), at);
+        taskRepository.commentAdded(task.getId(), at.minusSeconds(30));
+        taskRepository.commentRemoved(task.getId());
+
+        TaskSummary summary = taskRepository.findSummarySliceByAuthorId(author.getId(), PageRequest.of(0, 10)).getContent().get(0);
+        assertEquals(2, summary.getCommentCount());
+        assertEquals(at, summary.getLastActivityAt());
+    }
+
+    @Test
+    public void commentRemoved_NeverGoesNegative() {
+        taskRepository.commentRemoved(task.getId());
+
+        assertEquals(0L, jdbcTemplate.queryForObject("select comment_count from task where id = ?", Long.class, task.getId()));
+    }
+
+    @Test
+    public void reconcileCommentActivity_RecountsFromComments() {
+        Comment comment = new Comment();
+        comment.setText("Counted");
+        comment.setAuthor(author);
+        comment.setTask(task);
+        entityManager.persist(comment);
+        entityManager.flush();
+        jdbcTemplate.update("update task set comment_count = 5, last_activity_at = null where id = ?", task.getId());
+
+        assertTrue(taskRepository.findCommentActivityDrift().contains(task.getId()));
+        assertEquals(0, taskRepository.reconcileCommentActivity(task.getId() + 1, task.getId() + 100));
+        assertEquals(2, taskRepository.reconcileCommentActivity(task.getId(), task.getId()));
+        assertEquals(0, taskRepository.reconcileCommentActivity(task.getId(), task.getId()));
+        assertFalse(taskRepository.findCommentActivityDrift().contains(task.getId()));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select comment_count, last_activity_at from task where id = ?", task.getId());
+        assertEquals(1L, ((Number) row.get("comment_count")).longValue());
+        assertNotNull(row.get("last_activity_at"));
+    }
+
+    @Test
+    public void findSummaries_SortsByEnumDeclarationOrder() {
+        for (Priority priority : List.of(Priority.MEDIUM, Priority.HIGH)) {
+            Task other = new Task();
+            other.setTitle("Priority " + priority);
+            other.setStatus(priority == Priority.HIGH ? Status.COMPLETED : Status.IN_PROGRESS);
+            other.setPriority(priority);
+            other.setAuthor(author);
+            taskRepository.save(other);
+        }
+        taskRepository.flush();
+
+        List<TaskSummary> byPriority = taskRepository.findSummaries(TaskSpecifications.authoredBy(author.getId()),
+                PageRequest.of(0, 10, TaskSort.PRIORITY.getSort())).getContent();
+        assertEquals(List.of(Priority.HIGH, Priority.MEDIUM, Priority.LOW), byPriority.stream().map(TaskSummary::getPriority).toList());
+
+        List<TaskSummary> byStatus = taskRepository.findSummaries(TaskSpecifications.authoredBy(author.getId()),
+                PageRequest.of(0, 10, TaskSort.STATUS.getSort())).getContent();
+        assertEquals(List.of(Status.PENDING, Status.IN_PROGRESS, Status.COMPLETED), byStatus.stream().map(TaskSummary::getStatus).toList());
+    }
+}
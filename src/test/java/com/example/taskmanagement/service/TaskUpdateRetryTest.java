@@ -0,0 +1,127 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Priority;
+import com.example.taskmanagement.model.Role;
+import com.example.taskmanagement.model.Status;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Another transaction changes the task between the read and the conditional update, so the
+ * first attempt fails. Under REPEATABLE READ, MySQL's default, the retry only sees the new
+ * version if it runs in a transaction of its own. MySQL reports the change as a missed update,
+ * H2 as a serialization failure; both roll back the attempt and retry.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.transaction-isolation=TRANSACTION_REPEATABLE_READ")
+public class TaskUpdateRetryTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+
+    private User assignee;
+
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        author = user("retry-author@example.com", Role.AUTHOR);
+        assignee = user("retry-assignee@example.com", Role.ASSIGNEE);
+        task = new Task();
+        task.setTitle("Changed concurrently");
+        task.setStatus(Status.PENDING);
+        task.setPriority(Priority.HIGH);
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        task = taskRepository.save(task);
+        // Make the first attempt read the row, which starts its snapshot before the concurrent change
+        entityManagerFactory.getCache().evict(Task.class, task.getId());
+    }
+
+    @Test
+    public void updateTaskStatus_RetriesAgainstTheCommittedVersion() {
+        AtomicBoolean bumped = new AtomicBoolean();
+        doAnswer(invocation -> {
+            bumpVersionOnce(bumped);
+            return realAnswer().answer(invocation);
+        }).when(taskRepository).updateStatus(any(), anyLong(), any());
+
+        ResponseEntity<Task> response = taskService.updateTaskStatus(task.getId(), Status.COMPLETED, userDetails(assignee));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskRepository, times(2)).updateStatus(any(), anyLong(), any());
+        assertEquals("COMPLETED", jdbcTemplate.queryForObject("select status from task where id = ?", String.class, task.getId()));
+    }
+
+    @Test
+    public void assignTaskToUser_RetriesAgainstTheCommittedVersion() {
+        AtomicBoolean bumped = new AtomicBoolean();
+        doAnswer(invocation -> {
+            bumpVersionOnce(bumped);
+            return realAnswer().answer(invocation);
+        }).when(taskRepository).updateAssignee(any(), anyLong(), any());
+
+        ResponseEntity<?> response = taskService.assignTaskToUser(task.getId(), assignee.getEmail(), author::getEmail);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskRepository, times(2)).updateAssignee(any(), anyLong(), any());
+    }
+
+    // Commits from another thread, as a concurrent request would
+    private void bumpVersionOnce(AtomicBoolean bumped) throws Exception {
+        if (bumped.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> jdbcTemplate.update("update task set version = version + 1 where id = ?", task.getId()))
+                    .get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // The repository is a JDK proxy, which the spy reaches through its default answer
+    private Answer<?> realAnswer() {
+        return mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(new User(null, email, "password", role)));
+    }
+
+    private static UserDetails userDetails(User user) {
+        return org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(List.of())
+                .build();
+    }
+}